@@ -0,0 +1,51 @@
+package com.qnit18.auth_service.benchmark;
+
+import com.qnit18.auth_service.entity.Permission;
+import com.qnit18.auth_service.entity.Role;
+import com.qnit18.auth_service.entity.User;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class BenchmarkFixtures {
+    public static final String SIGNING_KEY =
+            "fbX2a4nQ4tdMnfExFUl+uA9aD9IFS+csS8GP96pR75RxrCiUcEYvpn+b4wWsgJshvXMUQiDUxhEBxA9RdPj+OQ==";
+    public static final String PASSWORD = "benchmark-password";
+
+    private static final int PERMISSIONS_PER_ROLE = 10;
+
+    /**
+     * Builds a detached user whose permissions are spread over roles of at most
+     * {@value #PERMISSIONS_PER_ROLE} permissions each, so 200 permissions means 20 roles.
+     */
+    public static User userWithPermissions(int permissionCount) {
+        Set<Role> roles = new HashSet<>();
+        Role role = null;
+
+        for (int i = 0; i < permissionCount; i++) {
+            if (i % PERMISSIONS_PER_ROLE == 0) {
+                role = Role.builder()
+                        .name("ROLE_" + (i / PERMISSIONS_PER_ROLE))
+                        .description("Benchmark role")
+                        .permissions(new HashSet<>())
+                        .build();
+                roles.add(role);
+            }
+            role.getPermissions().add(Permission.builder()
+                    .name("PERMISSION_" + i)
+                    .bitIndex(i)
+                    .description("Benchmark permission")
+                    .build());
+        }
+
+        return User.builder()
+                .id("benchmark-user")
+                .username("benchmark")
+                .firstName("Bench")
+                .lastName("Mark")
+                .roles(roles)
+                .build();
+    }
+
+    private BenchmarkFixtures() {}
+}
@@ -0,0 +1,166 @@
+package com.qnit18.auth_service.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load generator for comparing the platform and {@code virtual-threads}
+ * profiles against a running instance. Each simulated client is a virtual thread that sends
+ * its next request as soon as the previous one completes.
+ * <p>
+ * Driven by {@code src/jmh/scripts/thread-mode-comparison.sh}; options are {@code key=value}:
+ * {@code base-url}, {@code scenario} (token, introspect or user), {@code clients}, {@code duration},
+ * {@code warmup}, {@code username}, {@code password}, {@code user-id} and {@code label}.
+ * Prints one CSV line: label, scenario, clients, requests, errors, busy (503s, included in errors),
+ * throughput/s, p50, p99, max (ms).
+ */
+public class HttpLoadDriver {
+    private static final int SERVICE_UNAVAILABLE = 503;
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080/auth-service");
+        String scenario = options.getOrDefault("scenario", "token");
+        int clients = Integer.parseInt(options.getOrDefault("clients", "100"));
+        Duration duration = Duration.parse("PT" + options.getOrDefault("duration", "30s"));
+        Duration warmup = Duration.parse("PT" + options.getOrDefault("warmup", "10s"));
+        String username = options.getOrDefault("username", "admin");
+        String password = options.getOrDefault("password", "admin");
+        String label = options.getOrDefault("label", "default");
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(executor)
+                    .build();
+
+            String loginBody = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+            HttpRequest request = switch (scenario) {
+                case "token" -> post(baseUrl + "/auth/token", loginBody);
+                case "introspect" -> post(baseUrl + "/auth/introspect",
+                        "{\"token\":\"" + login(client, baseUrl, loginBody) + "\"}");
+                case "user" -> HttpRequest.newBuilder(URI.create(baseUrl + "/users/" + options.get("user-id")))
+                        .header("Authorization", "Bearer " + login(client, baseUrl, loginBody))
+                        .GET()
+                        .build();
+                default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+            };
+
+            run(client, executor, request, clients, warmup);
+            Result result = run(client, executor, request, clients, duration);
+
+            System.out.printf("%s,%s,%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f%n",
+                    label, scenario, clients, result.latenciesNanos.length, result.errors, result.busy,
+                    result.latenciesNanos.length / (duration.toNanos() / 1e9),
+                    percentileMillis(result.latenciesNanos, 0.50),
+                    percentileMillis(result.latenciesNanos, 0.99),
+                    percentileMillis(result.latenciesNanos, 1.0));
+        }
+    }
+
+    private static Result run(HttpClient client, ExecutorService executor, HttpRequest request,
+                              int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Result>> workers = new ArrayList<>(clients);
+
+        for (int i = 0; i < clients; i++) {
+            workers.add(executor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                long errors = 0;
+                long busy = 0;
+
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors++;
+                            if (response.statusCode() == SERVICE_UNAVAILABLE) {
+                                busy++;
+                            }
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return new Result(Arrays.copyOf(latencies, count), errors, busy);
+            }));
+        }
+
+        long[] merged = new long[0];
+        long errors = 0;
+        long busy = 0;
+        for (Future<Result> worker : workers) {
+            Result result = worker.get();
+            int offset = merged.length;
+            merged = Arrays.copyOf(merged, offset + result.latenciesNanos.length);
+            System.arraycopy(result.latenciesNanos, 0, merged, offset, result.latenciesNanos.length);
+            errors += result.errors;
+            busy += result.busy;
+        }
+        Arrays.sort(merged);
+        return new Result(merged, errors, busy);
+    }
+
+    private static String login(HttpClient client, String baseUrl, String loginBody) throws Exception {
+        String body = client.send(post(baseUrl + "/auth/token", loginBody), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = TOKEN.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private record Result(long[] latenciesNanos, long errors, long busy) {}
+
+    private HttpLoadDriver() {}
+}
@@ -0,0 +1,107 @@
+package com.qnit18.auth_service.exception;
+
+import com.qnit18.auth_service.configuration.JwtAuthenticationEntryPoint;
+import com.qnit18.auth_service.dto.response.ApiBaseResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of an error response: throwing and catching the exception, then producing the body.
+ * The {@code legacy*} benchmarks reproduce the previous behaviour (stack trace captured on every
+ * throw, body built and serialized per response, an {@code ObjectMapper} per 401) as the baseline.
+ * Run with the GC profiler that {@code BenchmarkRunner} attaches to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ErrorResponseBenchmark {
+
+    // Service code throws from a few frames down; the stack depth is what makes capture expensive
+    @Param({"20", "100"})
+    int stackDepth;
+
+    ObjectMapper objectMapper;
+    JwtAuthenticationEntryPoint entryPoint;
+    MockHttpServletRequest request;
+    BadCredentialsException authException;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        entryPoint = new JwtAuthenticationEntryPoint();
+        request = new MockHttpServletRequest();
+        authException = new BadCredentialsException("expired");
+    }
+
+    @Benchmark
+    public byte[] appException() {
+        try {
+            throwAt(stackDepth, () -> new AppException(ErrorCode.USER_NOT_FOUND));
+            return null;
+        } catch (AppException e) {
+            return ErrorResponses.body(e.getErrorCode());
+        }
+    }
+
+    @Benchmark
+    public byte[] legacyAppException() {
+        try {
+            throwAt(stackDepth, () -> new LegacyAppException(ErrorCode.USER_NOT_FOUND));
+            return null;
+        } catch (LegacyAppException e) {
+            return objectMapper.writeValueAsBytes(ApiBaseResponse.builder()
+                    .code(e.errorCode.getCode())
+                    .message(e.errorCode.getMessage())
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public MockHttpServletResponse entryPoint() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        entryPoint.commence(request, response, authException);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse legacyEntryPoint() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ErrorCode errorCode = ErrorCode.UNAUTHENTICATED;
+        response.setStatus(errorCode.getStatusCode().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ApiBaseResponse<?> apiBaseResponse = ApiBaseResponse.builder()
+                .code(errorCode.getCode())
+                .message(errorCode.getMessage())
+                .build();
+        response.getWriter().write(new ObjectMapper().writeValueAsString(apiBaseResponse));
+        response.flushBuffer();
+        return response;
+    }
+
+    private static void throwAt(int depth, Supplier<? extends RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        throwAt(depth - 1, exception);
+    }
+
+    /** {@link AppException} as it was before, capturing a stack trace. */
+    static class LegacyAppException extends RuntimeException {
+        final ErrorCode errorCode;
+
+        LegacyAppException(ErrorCode errorCode) {
+            super(errorCode.getMessage());
+            this.errorCode = errorCode;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.qnit18.auth_service.security;
+
+import com.qnit18.auth_service.repository.PermissionBitRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authority resolution: {@link ScopeAuthoritiesCache} against the stock
+ * {@link JwtGrantedAuthoritiesConverter} it replaced, and the compact {@code perm} claim expansion.
+ * Compare {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ScopeAuthoritiesBenchmark {
+
+    @Param({"1", "10", "200"})
+    int permissions;
+
+    Jwt jwt;
+    Jwt compactJwt;
+    ScopeAuthoritiesCache scopeAuthoritiesCache;
+    JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter;
+
+    @Setup
+    public void setUp() {
+        StringJoiner scope = new StringJoiner(" ");
+        scope.add("ROLE_USER");
+        for (int i = 0; i < permissions; i++) {
+            scope.add("PERMISSION_" + i);
+        }
+        jwt = Jwt.withTokenValue("benchmark")
+                .header("alg", "HS512")
+                .subject("benchmark")
+                .claim("scope", scope.toString())
+                .build();
+
+        List<PermissionBitRow> registry = new ArrayList<>();
+        BitSet bits = new BitSet();
+        for (int i = 0; i < permissions; i++) {
+            registry.add(new PermissionBitRow("PERMISSION_" + i, i));
+            bits.set(i);
+        }
+        PermissionIndexRegistry permissionIndexRegistry = new PermissionIndexRegistry(null, Duration.ofSeconds(5));
+        permissionIndexRegistry.install(permissions, registry);
+        compactJwt = Jwt.withTokenValue("benchmark")
+                .header("alg", "HS512")
+                .subject("benchmark")
+                .claim("scope", "ROLE_USER")
+                .claim(CompactPermissionClaim.PERMISSIONS_CLAIM, CompactPermissionClaim.encode(bits))
+                .claim(CompactPermissionClaim.VERSION_CLAIM, permissionIndexRegistry.version())
+                .build();
+
+        scopeAuthoritiesCache = new ScopeAuthoritiesCache(new SimpleMeterRegistry(), 1_000, permissionIndexRegistry);
+        jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        jwtGrantedAuthoritiesConverter.setAuthorityPrefix("");
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> cached() {
+        return scopeAuthoritiesCache.convert(jwt);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> cachedCompact() {
+        return scopeAuthoritiesCache.convert(compactJwt);
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> uncached() {
+        return jwtGrantedAuthoritiesConverter.convert(jwt);
+    }
+}
@@ -0,0 +1,92 @@
+package com.qnit18.auth_service.service;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.qnit18.auth_service.benchmark.BenchmarkFixtures;
+import com.qnit18.auth_service.dto.request.IntrospectRequest;
+import com.qnit18.auth_service.dto.response.IntrospectResponse;
+import com.qnit18.auth_service.entity.User;
+import com.qnit18.auth_service.security.JwsKeys;
+import com.qnit18.auth_service.security.JwtTokenEngine;
+import com.qnit18.auth_service.security.PermissionIndexRegistry;
+import com.qnit18.auth_service.security.RevokedTokenRegistry;
+import com.qnit18.auth_service.security.ScopeAuthoritiesCache;
+import com.qnit18.auth_service.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance and verification without the web or persistence layers.
+ * Lives in the service package because {@link AuthenticationService#generateToken} is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AuthenticationServiceBenchmark {
+
+    @Param({"1", "10", "200"})
+    int permissions;
+
+    @Param({"HS512", "RS256", "EdDSA"})
+    String algorithm;
+
+    JwtTokenEngine tokenEngine;
+    AuthenticationService authenticationService;
+    User user;
+    IntrospectRequest introspectRequest;
+
+    @Setup
+    public void setUp() {
+        // Timers stay enabled so their cost is part of the measurement, as in production
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+        tokenEngine = new JwtTokenEngine(JWSAlgorithm.HS512.equals(jwsAlgorithm)
+                ? JwsKeys.hmac(null, BenchmarkFixtures.SIGNING_KEY)
+                : JwsKeys.generate(jwsAlgorithm), meterRegistry);
+        VerifiedTokenCache verifiedTokenCache =
+                new VerifiedTokenCache(tokenEngine, meterRegistry, 10_000, Duration.ofSeconds(60));
+        // Never loaded from the database, so the revocation filter stays empty and introspect never queries it
+        RevokedTokenRegistry revokedTokenRegistry = new RevokedTokenRegistry(null, meterRegistry,
+                1_000_000, 0.01, Duration.ofSeconds(30), 10_000);
+        // Never loaded either; the benchmark issues tokens in the default SCOPE format
+        PermissionIndexRegistry permissionIndexRegistry = new PermissionIndexRegistry(null, Duration.ofSeconds(5));
+        authenticationService = new AuthenticationService(null, new BCryptPasswordEncoder(),
+                tokenEngine, verifiedTokenCache, new RoleScopeCache(Duration.ofMinutes(30)), revokedTokenRegistry,
+                new AuthenticationMetrics(meterRegistry),
+                new ScopeAuthoritiesCache(meterRegistry, 1_000, permissionIndexRegistry), permissionIndexRegistry);
+
+        user = BenchmarkFixtures.userWithPermissions(permissions);
+        introspectRequest = IntrospectRequest.builder()
+                .token(authenticationService.generateToken(user))
+                .build();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return authenticationService.generateToken(user);
+    }
+
+    @Benchmark
+    public IntrospectResponse introspect() {
+        return authenticationService.introspect(introspectRequest);
+    }
+
+    /** Signature verification without the verified-token cache that {@link #introspect} goes through. */
+    @Benchmark
+    public Jwt verifyUncached() {
+        return tokenEngine.decode(introspectRequest.getToken());
+    }
+
+    @Benchmark
+    public String buildScope() {
+        return authenticationService.buildScope(user);
+    }
+}
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Measures cold start as the time from JVM launch to the first successful admin login on /auth/token,
+# for the plain jar and for the fast-startup build (Spring AOT + AppCDS archive, see pom.xml).
+# The login only succeeds once ApplicationInitConfig has seeded or found the admin user, so the
+# seeding queries are inside the measurement; their own duration is reported separately.
+#
+# Needs the PostgreSQL instance from application.yaml, also for the fast-startup training run.
+# Results are appended to target/startup-comparison.csv, server logs go to target/startup-<mode>-<run>.log.
+#
+# Usage: src/jmh/scripts/startup-comparison.sh [runs]   (default: 5)
+set -euo pipefail
+
+cd "$(dirname "$0")/../../.."
+
+RUNS="${1:-5}"
+BASE_URL="http://localhost:8080/auth-service"
+LOGIN='{"username":"admin","password":"admin"}'
+PLAIN_DIR="$(mktemp -d)"
+trap 'rm -rf "$PLAIN_DIR"' EXIT
+
+# Both builds write to target/, so keep the plain jar aside before building the AOT one
+./mvnw -q -DskipTests clean package
+JAR_NAME="$(basename "$(ls target/auth-service-*.jar | grep -v original | head -n 1)")"
+cp "target/$JAR_NAME" "$PLAIN_DIR/"
+./mvnw -q -DskipTests -Pfast-startup package
+
+RESULTS="target/startup-comparison.csv"
+echo "mode,run,first_token_ms,started_s,admin_init_ms" > "$RESULTS"
+
+measure() {
+  local mode="$1" run="$2" dir="$3"
+  shift 3
+  local log="$PWD/target/startup-$mode-$run.log"
+
+  local start_ns
+  start_ns="$(date +%s%N)"
+  # Failed logins while the admin is being seeded would otherwise trip the login throttle
+  (cd "$dir" && exec java "$@" -jar "$JAR_NAME" \
+    --security.login-throttle.per-address.capacity=1000000000 \
+    --security.login-throttle.per-username.capacity=1000000000) > "$log" 2>&1 &
+  local pid=$!
+
+  until curl -sf -o /dev/null -H 'Content-Type: application/json' -d "$LOGIN" "$BASE_URL/auth/token"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Service exited during startup, see $log" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  local end_ns
+  end_ns="$(date +%s%N)"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+
+  local started admin_init
+  started="$(grep -oE 'Started AuthServiceApplication in [0-9.]+' "$log" | grep -oE '[0-9.]+$' || true)"
+  admin_init="$(grep -oE 'Admin initialization took [0-9]+' "$log" | grep -oE '[0-9]+$' || true)"
+  echo "$mode,$run,$(( (end_ns - start_ns) / 1000000 )),$started,$admin_init" | tee -a "$RESULTS"
+}
+
+for RUN in $(seq 1 "$RUNS"); do
+  measure plain "$RUN" "$PLAIN_DIR"
+  measure fast-startup "$RUN" target/fast-startup -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true
+done
@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Compares platform-thread and virtual-thread request handling under 100/1k/10k concurrent clients
+# on /auth/token, /auth/introspect and /users/{id}.
+#
+# Needs the PostgreSQL instance from application.yaml (the admin/admin user is seeded on startup).
+# Results are appended to target/thread-mode-comparison.csv, server logs go to target/load-<mode>.log.
+# The "busy" column counts PASSWORD_HASHING_BUSY 503s separately from other errors.
+# In virtual mode the JVM records jdk.VirtualThreadPinned events (threshold 1ms) to target/load-virtual.jfr
+# and prints the pinned stack traces after the run.
+#
+# Usage: src/jmh/scripts/thread-mode-comparison.sh [duration] [warmup]   (defaults: 30s 10s)
+set -euo pipefail
+
+cd "$(dirname "$0")/../../.."
+
+DURATION="${1:-30s}"
+WARMUP="${2:-10s}"
+BASE_URL="http://localhost:8080/auth-service"
+MANAGEMENT_URL="http://localhost:8081"
+RESULTS="target/thread-mode-comparison.csv"
+
+# 10k clients need at least as many sockets on both ends
+ulimit -n 65536 || true
+
+./mvnw -q -DskipTests package
+./mvnw -q -Pjmh test-compile
+JAR="$(ls target/auth-service-*.jar | grep -v original | head -n 1)"
+
+echo "label,scenario,clients,requests,errors,busy,throughput_per_s,p50_ms,p99_ms,max_ms" > "$RESULTS"
+
+wait_for_startup() {
+  for _ in $(seq 1 60); do
+    if curl -sf -o /dev/null "$MANAGEMENT_URL/actuator/health"; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Service did not start, see target/load-$1.log" >&2
+  exit 1
+}
+
+for MODE in platform virtual; do
+  JVM_OPTS=()
+  PROFILE_ARGS=()
+  if [ "$MODE" = "virtual" ]; then
+    JVM_OPTS+=("-XX:StartFlightRecording:jdk.VirtualThreadPinned#enabled=true,jdk.VirtualThreadPinned#threshold=1ms,filename=target/load-$MODE.jfr")
+    PROFILE_ARGS+=(--spring.profiles.active=virtual-threads)
+  fi
+
+  # Login throttling would otherwise turn the /auth/token runs into a 429 benchmark, and the 64-slot
+  # hashing queue into a 503 one: with every client allowed to queue, both modes hash at the same
+  # rate and the token runs compare how each holds 10k waiting requests
+  java "${JVM_OPTS[@]}" -jar "$JAR" "${PROFILE_ARGS[@]}" \
+    --security.login-throttle.per-address.capacity=1000000000 \
+    --security.login-throttle.per-username.capacity=1000000000 \
+    --security.password-hashing.queue-capacity=20000 \
+    > "target/load-$MODE.log" 2>&1 &
+  SERVER_PID=$!
+  trap 'kill $SERVER_PID 2>/dev/null || true' EXIT
+
+  wait_for_startup "$MODE"
+
+  USER_ID="$(curl -s -H 'Content-Type: application/json' \
+    -d "{\"username\":\"load-$MODE-$RANDOM\",\"password\":\"load-test\",\"firstName\":\"Load\",\"lastName\":\"Test\",\"dob\":\"1990-01-01\"}" \
+    "$BASE_URL/users" | sed -E 's/.*"id":"([^"]+)".*/\1/')"
+
+  for SCENARIO in token introspect user; do
+    for CLIENTS in 100 1000 10000; do
+      java -cp target/test-classes com.qnit18.auth_service.benchmark.HttpLoadDriver \
+        base-url="$BASE_URL" scenario="$SCENARIO" clients="$CLIENTS" \
+        duration="$DURATION" warmup="$WARMUP" user-id="$USER_ID" label="$MODE" | tee -a "$RESULTS"
+    done
+  done
+
+  kill "$SERVER_PID"
+  wait "$SERVER_PID" 2>/dev/null || true
+  trap - EXIT
+done
+
+PINNED="$(jfr print --events jdk.VirtualThreadPinned target/load-virtual.jfr)"
+if [ -n "$PINNED" ]; then
+  echo "$PINNED" > target/load-virtual-pinned.txt
+  echo "$(grep -c "jdk.VirtualThreadPinned" <<< "$PINNED") pinned virtual thread events, see target/load-virtual-pinned.txt" >&2
+fi
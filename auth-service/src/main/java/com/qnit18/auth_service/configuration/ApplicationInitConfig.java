@@ -17,6 +17,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Configuration
@@ -41,33 +42,40 @@ public class ApplicationInitConfig {
     ApplicationRunner applicationRunner(UserRepository userRepository, RoleRepository roleRepository) {
         log.info("MySQL detected, initializing admin user if not exists");
         return args -> {
-            if (userRepository.existsByUsername(ADMIN_USER_NAME)) {
-                log.info("Admin user already exists, skipping initialization");
-                return;
-            }
-            roleRepository.save(Role.builder()
-                    .name(PredefinedRole.ROLE_USER)
-                    .description("User role")
-                    .build());
+            // Runs on every boot before the admin can log in; reported by src/jmh/scripts/startup-comparison.sh
+            long startedAt = System.nanoTime();
+            initializeAdmin(userRepository, roleRepository);
+            log.info("Admin initialization took {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        };
+    }
 
-            Role adminRole = roleRepository.save(Role.builder()
-                    .name(PredefinedRole.ROLE_ADMIN)
-                    .description("Admin role")
-                    .build());
+    private void initializeAdmin(UserRepository userRepository, RoleRepository roleRepository) {
+        if (userRepository.existsByUsername(ADMIN_USER_NAME)) {
+            log.info("Admin user already exists, skipping initialization");
+            return;
+        }
+        roleRepository.save(Role.builder()
+                .name(PredefinedRole.ROLE_USER)
+                .description("User role")
+                .build());
 
-            var roles = new HashSet<Role>();
+        Role adminRole = roleRepository.save(Role.builder()
+                .name(PredefinedRole.ROLE_ADMIN)
+                .description("Admin role")
+                .build());
 
-            roles.add(adminRole);
+        var roles = new HashSet<Role>();
 
-            userRepository.save(User.builder()
-                            .username(ADMIN_USER_NAME)
-                            .password(passwordEncoder.encode(ADMIN_PASSWORD))
-                            .firstName("Admin")
-                            .lastName("User")
-                            .roles(roles)
-                            .build()
-            );
-            log.warn("Admin user created with username: {} and password: {}", ADMIN_USER_NAME, ADMIN_PASSWORD);
-        };
+        roles.add(adminRole);
+
+        userRepository.save(User.builder()
+                        .username(ADMIN_USER_NAME)
+                        .password(passwordEncoder.encode(ADMIN_PASSWORD))
+                        .firstName("Admin")
+                        .lastName("User")
+                        .roles(roles)
+                        .build()
+        );
+        log.warn("Admin user created with username: {} and password: {}", ADMIN_USER_NAME, ADMIN_PASSWORD);
     }
 }
@@ -1,14 +1,12 @@
 package com.qnit18.auth_service.configuration;
 
-import com.qnit18.auth_service.dto.response.ApiBaseResponse;
 import com.qnit18.auth_service.exception.ErrorCode;
+import com.qnit18.auth_service.exception.ErrorResponses;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
-import tools.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 
@@ -17,18 +15,6 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
             throws IOException, ServletException {
-        ErrorCode errorCode = ErrorCode.UNAUTHENTICATED;
-
-        response.setStatus(errorCode.getStatusCode().value());
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-
-        ApiBaseResponse<?> apiBaseResponse = ApiBaseResponse.builder()
-                .code(errorCode.getCode())
-                .message(errorCode.getMessage())
-                .build();
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        response.getWriter().write(objectMapper.writeValueAsString(apiBaseResponse));
-        response.flushBuffer();
+        ErrorResponses.write(response, ErrorCode.UNAUTHENTICATED);
     }
 }
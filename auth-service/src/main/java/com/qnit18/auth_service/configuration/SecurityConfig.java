@@ -1,51 +1,86 @@
 package com.qnit18.auth_service.configuration;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.qnit18.auth_service.constant.PredefinedRole;
+import com.qnit18.auth_service.security.BCryptStrengthCalibrator;
+import com.qnit18.auth_service.security.BoundedPasswordEncoder;
+import com.qnit18.auth_service.security.JwsKey;
+import com.qnit18.auth_service.security.JwsKeys;
+import com.qnit18.auth_service.security.JwtTokenEngine;
+import com.qnit18.auth_service.security.RevokedTokenRegistry;
+import com.qnit18.auth_service.security.RevokedTokenValidator;
+import com.qnit18.auth_service.security.ScopeAuthoritiesCache;
+import com.qnit18.auth_service.security.VerifiedTokenCache;
+import com.qnit18.auth_service.security.VerifiedTokenJwtDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
-import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
 
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity   
 public class SecurityConfig {
 
-    @Value("${security.signing-key}")
-    private String SIGNING_KEY;
+    private static final String BCRYPT_ID = "bcrypt";
 
     private final String[] PUBLIC_POST_ENDPOINTS = {
             "/users",
             "/auth/token",
-            "/auth/introspect"
+            "/auth/introspect",
+            "/auth/introspect/batch",
+            "/auth/logout",
+            "/auth/refresh"
+    };
+
+    // The scrape endpoint carries no credentials; actuator is served only on management.server.port
+    private final String[] PUBLIC_GET_ENDPOINTS = {
+            "/.well-known/jwks.json",
+            "/actuator/health",
+            "/actuator/prometheus"
+    };
+
+    // These expose raw SQL and entity counts
+    private final String[] ADMIN_ENDPOINTS = {
+            "/actuator/sqlshapes",
+            "/actuator/hibernate"
     };
     
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtDecoder jwtDecoder,
+                                                   JwtAuthenticationConverter jwtAuthenticationConverter) throws Exception {
         http.authorizeHttpRequests(
                 authorizeRequests ->
                         authorizeRequests
                                 .requestMatchers(HttpMethod.POST, PUBLIC_POST_ENDPOINTS).permitAll()
+                                .requestMatchers(HttpMethod.GET, PUBLIC_GET_ENDPOINTS).permitAll()
+                                .requestMatchers(ADMIN_ENDPOINTS).hasRole(PredefinedRole.ROLE_ADMIN)
                                 .anyRequest().authenticated());
 
         http.oauth2ResourceServer(oauth2 ->
                 oauth2.jwt(jwtConfigurer ->
                         jwtConfigurer
-                                .decoder(jwtDecoder())
-                                .jwtAuthenticationConverter(jwtAuthenticationConverter()))
+                                .decoder(jwtDecoder)
+                                .jwtAuthenticationConverter(jwtAuthenticationConverter))
                         .authenticationEntryPoint(new JwtAuthenticationEntryPoint())
         );
 
@@ -54,26 +89,74 @@ public class SecurityConfig {
     }
 
     @Bean
-    JwtAuthenticationConverter jwtAuthenticationConverter(){
-        JwtGrantedAuthoritiesConverter jwtGrantedAuthoritiesConverter = new JwtGrantedAuthoritiesConverter();
-        jwtGrantedAuthoritiesConverter.setAuthorityPrefix("");
-
+    JwtAuthenticationConverter jwtAuthenticationConverter(ScopeAuthoritiesCache scopeAuthoritiesCache){
         JwtAuthenticationConverter jwtAuthenticationConverter = new JwtAuthenticationConverter();
-        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(jwtGrantedAuthoritiesConverter);
+        jwtAuthenticationConverter.setJwtGrantedAuthoritiesConverter(scopeAuthoritiesCache);
         return jwtAuthenticationConverter;
     }
 
+    /**
+     * The configured key, which verifies for as long as it stays configured and signs whenever no key
+     * from the {@code signing_keys} ring is active.
+     * <p>
+     * HS512 signs with {@code security.signing-key}. RS256 and EdDSA sign with the PEM key pair at
+     * {@code security.jwt.private-key-location}/{@code public-key-location} and publish the public
+     * key at {@code /.well-known/jwks.json}; without a configured pair a key is generated at startup.
+     */
     @Bean
-    JwtDecoder jwtDecoder() {
-        SecretKeySpec secretKey = new SecretKeySpec(SIGNING_KEY.getBytes(), "HS512");
-        return NimbusJwtDecoder
-                .withSecretKey(secretKey)
-                .macAlgorithm(MacAlgorithm.HS512)
-                .build();
+    JwsKey configuredSigningKey(ResourceLoader resourceLoader,
+                                @Value("${security.jwt.algorithm}") String algorithm,
+                                @Value("${security.signing-key}") String signingKey,
+                                @Value("${security.jwt.private-key-location}") String privateKeyLocation,
+                                @Value("${security.jwt.public-key-location}") String publicKeyLocation) throws IOException {
+        JWSAlgorithm jwsAlgorithm = JWSAlgorithm.parse(algorithm);
+
+        if (JWSAlgorithm.HS512.equals(jwsAlgorithm)) {
+            return JwsKeys.hmac(null, signingKey);
+        }
+        if (privateKeyLocation.isBlank()) {
+            log.warn("No security.jwt.private-key-location configured, generating an ephemeral {} key. "
+                    + "Tokens will not survive a restart or verify on other instances", jwsAlgorithm);
+            return JwsKeys.generate(jwsAlgorithm);
+        }
+
+        return JwsKeys.fromPem(jwsAlgorithm,
+                resourceLoader.getResource(privateKeyLocation).getContentAsString(StandardCharsets.UTF_8),
+                resourceLoader.getResource(publicKeyLocation).getContentAsString(StandardCharsets.UTF_8));
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    JwtTokenEngine jwtTokenEngine(JwsKey configuredSigningKey, MeterRegistry meterRegistry) {
+        return new JwtTokenEngine(configuredSigningKey, meterRegistry);
+    }
+
+    @Bean
+    JwtDecoder jwtDecoder(VerifiedTokenCache verifiedTokenCache, RevokedTokenRegistry revokedTokenRegistry,
+                          MeterRegistry meterRegistry) {
+        return new VerifiedTokenJwtDecoder(verifiedTokenCache, new RevokedTokenValidator(revokedTokenRegistry),
+                meterRegistry);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.password-hashing.threads}") int threads,
+                                           @Value("${security.password-hashing.queue-capacity}") int queueCapacity,
+                                           @Value("${security.password-hashing.bcrypt.strength}") int strength,
+                                           @Value("${security.password-hashing.bcrypt.calibrate}") boolean calibrate,
+                                           @Value("${security.password-hashing.bcrypt.target-latency}") Duration targetLatency) {
+        if (calibrate) {
+            strength = BCryptStrengthCalibrator.calibrate(targetLatency);
+        }
+        log.info("Hashing new passwords with BCrypt strength {}", strength);
+
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(BCRYPT_ID,
+                Map.of(BCRYPT_ID, new BCryptPasswordEncoder(strength)));
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        return new BoundedPasswordEncoder(delegatingPasswordEncoder,
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                meterRegistry);
     }
 }
@@ -0,0 +1,38 @@
+package com.qnit18.auth_service.configuration;
+
+import com.qnit18.auth_service.monitoring.SqlStatementListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes every JDBC call through datasource-proxy so {@link SqlStatementListener} sees each
+ * statement, its timing and the rows read from its result set. Replaces {@code spring.jpa.show-sql}.
+ */
+@Configuration
+public class SqlInstrumentationConfig {
+
+    // Static and lazily resolved: a post-processor must not pull the listener (and its meter registry) in early
+    @Bean
+    static BeanPostProcessor sqlInstrumentingDataSourcePostProcessor(ObjectProvider<SqlStatementListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                SqlStatementListener sqlStatementListener = listener.getObject();
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(sqlStatementListener)
+                        .methodListener(sqlStatementListener)
+                        .proxyResultSet()
+                        .build();
+            }
+        };
+    }
+}
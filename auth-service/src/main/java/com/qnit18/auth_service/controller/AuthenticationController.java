@@ -1,11 +1,17 @@
 package com.qnit18.auth_service.controller;
 
 import com.qnit18.auth_service.dto.request.AuthenticationRequest;
+import com.qnit18.auth_service.dto.request.BatchIntrospectRequest;
 import com.qnit18.auth_service.dto.request.IntrospectRequest;
+import com.qnit18.auth_service.dto.request.LogoutRequest;
+import com.qnit18.auth_service.dto.request.RefreshRequest;
 import com.qnit18.auth_service.dto.response.ApiBaseResponse;
 import com.qnit18.auth_service.dto.response.AuthenticationResponse;
+import com.qnit18.auth_service.dto.response.BatchIntrospectResponse;
 import com.qnit18.auth_service.dto.response.IntrospectResponse;
+import com.qnit18.auth_service.security.LoginThrottle;
 import com.qnit18.auth_service.service.AuthenticationService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -20,9 +26,12 @@ import org.springframework.web.bind.annotation.RestController;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AuthenticationController {
     AuthenticationService authenticationService;
+    LoginThrottle loginThrottle;
 
     @PostMapping("/token")
-    public ApiBaseResponse<AuthenticationResponse> login(@RequestBody AuthenticationRequest authenticationRequest) {
+    public ApiBaseResponse<AuthenticationResponse> login(@RequestBody AuthenticationRequest authenticationRequest,
+                                                         HttpServletRequest httpServletRequest) {
+        loginThrottle.acquire(authenticationRequest.getUsername(), httpServletRequest.getRemoteAddr());
         var result = authenticationService.authenticate(authenticationRequest);
         return ApiBaseResponse.<AuthenticationResponse>builder()
                 .result(AuthenticationResponse.builder()
@@ -39,4 +48,27 @@ public class AuthenticationController {
                 .result(result)
                 .build();
     }
+
+    @PostMapping("/introspect/batch")
+    ApiBaseResponse<BatchIntrospectResponse> introspectBatch(@RequestBody BatchIntrospectRequest batchIntrospectRequest) {
+        var result = authenticationService.introspectBatch(batchIntrospectRequest);
+        return ApiBaseResponse.<BatchIntrospectResponse>builder()
+                .result(result)
+                .build();
+    }
+
+    @PostMapping("/refresh")
+    ApiBaseResponse<AuthenticationResponse> refresh(@RequestBody RefreshRequest refreshRequest) {
+        var result = authenticationService.refreshToken(refreshRequest);
+        return ApiBaseResponse.<AuthenticationResponse>builder()
+                .result(result)
+                .build();
+    }
+
+    @PostMapping("/logout")
+    ApiBaseResponse<Void> logout(@RequestBody LogoutRequest logoutRequest) {
+        authenticationService.logout(logoutRequest);
+        return ApiBaseResponse.<Void>builder()
+                .build();
+    }
 }
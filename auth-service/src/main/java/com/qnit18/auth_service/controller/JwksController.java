@@ -0,0 +1,40 @@
+package com.qnit18.auth_service.controller;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.qnit18.auth_service.security.JwtTokenEngine;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Public keys for verifying tokens offline. Served raw (not wrapped in {@code ApiBaseResponse})
+ * since JWKS clients expect the RFC 7517 document. Cacheable by clients and proxies; a matching
+ * {@code If-None-Match} is answered with 304 from the entity tag.
+ */
+@RestController
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JwksController {
+    JwtTokenEngine tokenEngine;
+
+    @NonFinal
+    @Value("${security.jwt.jwks-max-age}")
+    Duration maxAge;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = JWKSet.MIME_TYPE)
+    ResponseEntity<String> jwks() {
+        JwtTokenEngine.PublishedKeys publishedKeys = tokenEngine.publishedKeys();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .eTag(publishedKeys.entityTag())
+                .body(publishedKeys.json());
+    }
+}
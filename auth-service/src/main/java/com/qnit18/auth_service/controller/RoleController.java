@@ -1,8 +1,11 @@
 package com.qnit18.auth_service.controller;
 
+import com.qnit18.auth_service.dto.request.RolePermissionAssignmentRequest;
 import com.qnit18.auth_service.dto.request.RoleRequest;
 import com.qnit18.auth_service.dto.response.ApiBaseResponse;
+import com.qnit18.auth_service.dto.response.BulkAssignmentResponse;
 import com.qnit18.auth_service.dto.response.RoleResponse;
+import com.qnit18.auth_service.service.EntitlementService;
 import com.qnit18.auth_service.service.RoleService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +20,7 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class RoleController {
     RoleService roleService;
+    EntitlementService entitlementService;
 
     @PostMapping
     ApiBaseResponse<RoleResponse> create(@RequestBody RoleRequest request){
@@ -38,4 +42,18 @@ public class RoleController {
         return ApiBaseResponse.<Void>builder().build();
     }
 
+    @PostMapping("/permissions/grant")
+    ApiBaseResponse<BulkAssignmentResponse> grantPermissions(@RequestBody RolePermissionAssignmentRequest request){
+        return ApiBaseResponse.<BulkAssignmentResponse>builder()
+                .result(entitlementService.grantRolePermissions(request))
+                .build();
+    }
+
+    @PostMapping("/permissions/revoke")
+    ApiBaseResponse<BulkAssignmentResponse> revokePermissions(@RequestBody RolePermissionAssignmentRequest request){
+        return ApiBaseResponse.<BulkAssignmentResponse>builder()
+                .result(entitlementService.revokeRolePermissions(request))
+                .build();
+    }
+
 }
@@ -0,0 +1,49 @@
+package com.qnit18.auth_service.controller;
+
+import com.qnit18.auth_service.dto.request.SigningKeyCreationRequest;
+import com.qnit18.auth_service.dto.request.SigningKeyRetireRequest;
+import com.qnit18.auth_service.dto.response.ApiBaseResponse;
+import com.qnit18.auth_service.dto.response.SigningKeyResponse;
+import com.qnit18.auth_service.service.SigningKeyService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/signing-keys")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SigningKeyController {
+    SigningKeyService signingKeyService;
+
+    @GetMapping
+    ApiBaseResponse<List<SigningKeyResponse>> getSigningKeys() {
+        return ApiBaseResponse.<List<SigningKeyResponse>>builder()
+                .result(signingKeyService.getSigningKeys())
+                .build();
+    }
+
+    @PostMapping
+    ApiBaseResponse<SigningKeyResponse> createSigningKey(@RequestBody SigningKeyCreationRequest request) {
+        return ApiBaseResponse.<SigningKeyResponse>builder()
+                .result(signingKeyService.createSigningKey(request))
+                .build();
+    }
+
+    @PostMapping("/{keyId}/retire")
+    ApiBaseResponse<SigningKeyResponse> retireSigningKey(@PathVariable String keyId,
+                                                         @RequestBody(required = false) SigningKeyRetireRequest request) {
+        return ApiBaseResponse.<SigningKeyResponse>builder()
+                .result(signingKeyService.retireSigningKey(keyId, request))
+                .build();
+    }
+
+    @DeleteMapping("/{keyId}")
+    ApiBaseResponse<Void> deleteSigningKey(@PathVariable String keyId) {
+        signingKeyService.deleteSigningKey(keyId);
+        return ApiBaseResponse.<Void>builder().build();
+    }
+}
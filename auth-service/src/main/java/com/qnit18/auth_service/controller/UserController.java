@@ -1,17 +1,25 @@
 package com.qnit18.auth_service.controller;
 
 import com.qnit18.auth_service.dto.request.UserCreationRequest;
+import com.qnit18.auth_service.dto.request.UserRoleAssignmentRequest;
 import com.qnit18.auth_service.dto.request.UserUpdateRequest;
 import com.qnit18.auth_service.dto.response.ApiBaseResponse;
+import com.qnit18.auth_service.dto.response.BulkAssignmentResponse;
+import com.qnit18.auth_service.dto.response.CursorPageResponse;
 import com.qnit18.auth_service.dto.response.UserResponse;
+import com.qnit18.auth_service.service.EntitlementService;
+import com.qnit18.auth_service.service.UserImportService;
 import com.qnit18.auth_service.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/users")
@@ -19,6 +27,8 @@ import java.util.List;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class UserController {
     UserService userService;
+    UserImportService userImportService;
+    EntitlementService entitlementService;
 
     @PostMapping
     ApiBaseResponse<UserResponse> createUser(@RequestBody @Valid UserCreationRequest request){
@@ -44,8 +54,42 @@ public class UserController {
     }
 
     @GetMapping
-    List<UserResponse> getUsers(){
-        return userService.getUsers();
+    ApiBaseResponse<CursorPageResponse<UserResponse>> getUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size){
+        return ApiBaseResponse.<CursorPageResponse<UserResponse>>builder()
+                .result(userService.getUsers(cursor, size))
+                .build();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    void streamUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        userService.streamUsers(response.getOutputStream());
+    }
+
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, UserImportService.TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean csv = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(UserImportService.TEXT_CSV_VALUE));
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        userImportService.importUsers(request.getInputStream(), csv, response.getOutputStream());
+    }
+
+    @PostMapping("/roles/grant")
+    ApiBaseResponse<BulkAssignmentResponse> grantRoles(@RequestBody UserRoleAssignmentRequest request){
+        return ApiBaseResponse.<BulkAssignmentResponse>builder()
+                .result(entitlementService.grantUserRoles(request))
+                .build();
+    }
+
+    @PostMapping("/roles/revoke")
+    ApiBaseResponse<BulkAssignmentResponse> revokeRoles(@RequestBody UserRoleAssignmentRequest request){
+        return ApiBaseResponse.<BulkAssignmentResponse>builder()
+                .result(entitlementService.revokeUserRoles(request))
+                .build();
     }
 
 }
@@ -0,0 +1,16 @@
+package com.qnit18.auth_service.dto.request;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RolePermissionAssignmentRequest {
+    Set<String> roles;
+    Set<String> permissions;
+}
@@ -0,0 +1,19 @@
+package com.qnit18.auth_service.dto.request;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SigningKeyCreationRequest {
+    /** HS512, RS256 or EdDSA. */
+    String algorithm;
+
+    /** Defaults to now plus {@code security.jwt.key-ring.activation-delay}. */
+    Instant activateAt;
+}
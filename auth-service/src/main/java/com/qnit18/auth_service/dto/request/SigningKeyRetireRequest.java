@@ -0,0 +1,16 @@
+package com.qnit18.auth_service.dto.request;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SigningKeyRetireRequest {
+    /** Defaults to now. */
+    Instant retireAt;
+}
@@ -0,0 +1,24 @@
+package com.qnit18.auth_service.dto.request;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Set;
+
+/**
+ * Roles to grant or revoke for every user matching all of the given filters.
+ * At least one filter is required; an empty request never targets every user.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class UserRoleAssignmentRequest {
+    Set<String> roles;
+    Set<String> userIds;
+    Set<String> usernames;
+    String usernamePrefix;
+    // Only users that currently hold this role
+    String withRole;
+}
@@ -4,6 +4,7 @@ import lombok.*;
 import lombok.experimental.FieldDefaults;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.qnit18.auth_service.validator.DobConstraint;
 
@@ -18,4 +19,6 @@ public class UserUpdateRequest {
     String lastName;
     @DobConstraint(min = 18, message = "INVALID_DOB")
     LocalDate dob;
+    // Replaces the user's roles when present
+    List<String> roles;
 }
@@ -0,0 +1,14 @@
+package com.qnit18.auth_service.dto.response;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkAssignmentResponse {
+    // Join table rows inserted or deleted; existing grants and missing revokes are not counted
+    int affected;
+}
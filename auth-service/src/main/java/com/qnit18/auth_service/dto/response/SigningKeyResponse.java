@@ -0,0 +1,22 @@
+package com.qnit18.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SigningKeyResponse {
+    String id;
+    String algorithm;
+    Instant createdAt;
+    Instant activateAt;
+    Instant retireAt;
+    Instant expireAt;
+}
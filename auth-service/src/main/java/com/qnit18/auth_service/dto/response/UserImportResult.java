@@ -0,0 +1,28 @@
+package com.qnit18.auth_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * One line of the {@code /users/import} report; {@code line} is the 1-based input line.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+    long line;
+    String username;
+    Status status;
+    String id;
+    Integer code;
+    String message;
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+}
@@ -1,6 +1,5 @@
 package com.qnit18.auth_service.dto.response;
 
-import com.qnit18.auth_service.entity.Role;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
@@ -15,9 +14,8 @@ import java.util.Set;
 public class UserResponse {
     String id;
     String username;
-    String password;
     String firstName;
     String lastName;
     LocalDate dob;
-    Set<Role> roles;
+    Set<String> roles;
 }
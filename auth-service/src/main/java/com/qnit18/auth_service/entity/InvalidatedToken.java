@@ -0,0 +1,28 @@
+package com.qnit18.auth_service.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "invalidated_tokens")
+@Table(indexes = {
+        @Index(name = "idx_invalidated_tokens_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_invalidated_tokens_expiry_time", columnList = "expiryTime")
+})
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class InvalidatedToken {
+    /** The token's {@code jti}. */
+    @Id
+    String id;
+    Instant expiryTime;
+    Instant revokedAt;
+}
@@ -1,26 +1,41 @@
 package com.qnit18.auth_service.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
-@Data
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class Role {
 
     @Id
+    @EqualsAndHashCode.Include
     String name;
 
     String description;
 
     @ManyToMany
+    @JoinTable(name = "roles_permissions",
+            indexes = @Index(name = "idx_roles_permissions_permissions_name", columnList = "permissions_name"))
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @ToString.Exclude
     Set<Permission> permissions;
 }
@@ -0,0 +1,46 @@
+package com.qnit18.auth_service.entity;
+
+import com.qnit18.auth_service.security.SigningKeyEncryptionConverter;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.Instant;
+
+/**
+ * A key in the signing key ring. It is published and verifies tokens until {@code expireAt},
+ * and is eligible to sign between {@code activateAt} and {@code retireAt}.
+ */
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity(name = "signing_keys")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class SigningKey {
+    /** The {@code kid} header value. */
+    @Id
+    @EqualsAndHashCode.Include
+    String id;
+    String algorithm;
+
+    /** PKCS#8 PEM for RS256/EdDSA, the shared secret for HS512. Encrypted at rest. */
+    @Column(length = 4096)
+    @Convert(converter = SigningKeyEncryptionConverter.class)
+    @ToString.Exclude
+    String privateKey;
+
+    @Column(length = 1024)
+    String publicKey;
+
+    Instant createdAt;
+    Instant activateAt;
+    Instant retireAt;
+    Instant expireAt;
+}
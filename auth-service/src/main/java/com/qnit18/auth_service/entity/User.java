@@ -7,15 +7,20 @@ import lombok.experimental.FieldDefaults;
 import java.time.LocalDate;
 import java.util.Set;
 
-@Data
+@Getter
+@Setter
+@ToString
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 @Entity(name = "users")
+@Table(indexes = @Index(name = "uk_users_username", columnList = "username", unique = true))
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
     String id;
     String username;
     String password;
@@ -24,6 +29,8 @@ public class User {
     LocalDate dob;
 
     @ManyToMany
+    @JoinTable(name = "users_roles", indexes = @Index(name = "idx_users_roles_roles_name", columnList = "roles_name"))
+    @ToString.Exclude
     Set<Role> roles;
 
 }
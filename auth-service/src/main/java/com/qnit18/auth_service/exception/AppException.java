@@ -1,9 +1,13 @@
 package com.qnit18.auth_service.exception;
 
+/**
+ * An expected failure with a known {@link ErrorCode}. Thrown on ordinary paths such as unknown
+ * users or bad credentials, so no stack trace is captured; the code identifies the cause.
+ */
 public class AppException extends RuntimeException{
 
     public AppException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
+        super(errorCode.getMessage(), null, false, false);
         this.errorCode = errorCode;
     }
 
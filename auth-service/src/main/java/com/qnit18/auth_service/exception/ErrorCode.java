@@ -14,7 +14,15 @@ public enum ErrorCode {
     USER_NOT_FOUND(1005, "User not found", HttpStatus.NOT_FOUND),
     UNAUTHENTICATED(1006, "Unauthenticated user", HttpStatus.UNAUTHORIZED),
     UNAUTHORIZED(1007, "Unauthorized user", HttpStatus.FORBIDDEN),
-    INVALID_DOB(1008, "Date of birth must be at least {min} years old", HttpStatus.BAD_REQUEST)
+    INVALID_DOB(1008, "Date of birth must be at least {min} years old", HttpStatus.BAD_REQUEST),
+    INTROSPECT_BATCH_TOO_LARGE(1009, "Too many tokens in introspect batch", HttpStatus.BAD_REQUEST),
+    INVALID_CURSOR(1010, "Invalid page cursor", HttpStatus.BAD_REQUEST),
+    PASSWORD_HASHING_BUSY(1011, "Server is busy, please retry later", HttpStatus.SERVICE_UNAVAILABLE),
+    TOO_MANY_LOGIN_ATTEMPTS(1012, "Too many login attempts, please retry later", HttpStatus.TOO_MANY_REQUESTS),
+    SIGNING_KEY_NOT_FOUND(1013, "Signing key not found", HttpStatus.NOT_FOUND),
+    INVALID_SIGNING_KEY_ALGORITHM(1014, "Signing key algorithm must be HS512, RS256 or EdDSA", HttpStatus.BAD_REQUEST),
+    INVALID_IMPORT_ROW(1015, "Row is malformed or has no username or password", HttpStatus.BAD_REQUEST),
+    INVALID_BULK_ASSIGNMENT(1016, "Bulk assignment needs at least one role and one target", HttpStatus.BAD_REQUEST)
     ;
 
     ErrorCode(int code, String message, HttpStatusCode statusCode) {
@@ -0,0 +1,55 @@
+package com.qnit18.auth_service.exception;
+
+import com.qnit18.auth_service.dto.response.ApiBaseResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * {@link ApiBaseResponse} error bodies serialized once per {@link ErrorCode}, so error responses
+ * cost a byte copy instead of building and serializing a response object per request.
+ * Messages with placeholders such as {@code {min}} are stored as declared.
+ */
+public final class ErrorResponses {
+    private static final Map<ErrorCode, byte[]> BODIES = new EnumMap<>(ErrorCode.class);
+
+    static {
+        ObjectMapper objectMapper = JsonMapper.builder().build();
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            BODIES.put(errorCode, objectMapper.writeValueAsBytes(ApiBaseResponse.builder()
+                    .code(errorCode.getCode())
+                    .message(errorCode.getMessage())
+                    .build()));
+        }
+    }
+
+    public static byte[] body(ErrorCode errorCode) {
+        return BODIES.get(errorCode);
+    }
+
+    public static ResponseEntity<byte[]> toResponseEntity(ErrorCode errorCode) {
+        return ResponseEntity.status(errorCode.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(BODIES.get(errorCode));
+    }
+
+    /**
+     * Writes the error straight to a servlet response, for filters and entry points outside MVC.
+     */
+    public static void write(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        byte[] body = BODIES.get(errorCode);
+        response.setStatus(errorCode.getStatusCode().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        response.flushBuffer();
+    }
+
+    private ErrorResponses() {}
+}
@@ -2,9 +2,12 @@ package com.qnit18.auth_service.exception;
 
 import com.qnit18.auth_service.dto.response.ApiBaseResponse;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,6 +15,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.nio.file.AccessDeniedException;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -21,25 +25,32 @@ public class GlobalExceptionHandler {
 
     private static final String MIN_ATTRIBUTE = "min";
 
-    @ExceptionHandler(value = Exception.class)
-    ResponseEntity<ApiBaseResponse> handlingRuntimeException(RuntimeException exception) {
-        ApiBaseResponse ApiBaseResponse = new ApiBaseResponse();
+    private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
 
-        ApiBaseResponse.setCode(ErrorCode.UNCATEGORIZED_EXCEPTION.getCode());
-        ApiBaseResponse.setMessage(ErrorCode.UNCATEGORIZED_EXCEPTION.getMessage());
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            errorCounters.put(errorCode, Counter.builder("auth.errors")
+                    .tag("code", String.valueOf(errorCode.getCode()))
+                    .tag("error", errorCode.name())
+                    .register(meterRegistry));
+        }
+    }
 
-        return ResponseEntity.badRequest().body(ApiBaseResponse);
+    @ExceptionHandler(value = Exception.class)
+    ResponseEntity<byte[]> handlingRuntimeException(RuntimeException exception) {
+        errorCounters.get(ErrorCode.UNCATEGORIZED_EXCEPTION).increment();
+
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorResponses.body(ErrorCode.UNCATEGORIZED_EXCEPTION));
     }
 
     @ExceptionHandler(value = AppException.class)
-    ResponseEntity<ApiBaseResponse> handlingAppException(AppException exception) {
+    ResponseEntity<byte[]> handlingAppException(AppException exception) {
         ErrorCode errorCode = exception.getErrorCode();
-        ApiBaseResponse ApiBaseResponse = new ApiBaseResponse();
-
-        ApiBaseResponse.setCode(errorCode.getCode());
-        ApiBaseResponse.setMessage(errorCode.getMessage());
+        errorCounters.get(errorCode).increment();
 
-        return ResponseEntity.badRequest().body(ApiBaseResponse);
+        return ErrorResponses.toResponseEntity(errorCode);
     }
 
     @ExceptionHandler(value = MethodArgumentNotValidException.class)
@@ -63,6 +74,7 @@ public class GlobalExceptionHandler {
         }
 
         log.info("Attributes: " + attributes);
+        errorCounters.get(errorCode).increment();
         ApiBaseResponse ApiBaseResponse = new ApiBaseResponse();
 
         ApiBaseResponse.setCode(errorCode.getCode());
@@ -74,25 +86,17 @@ public class GlobalExceptionHandler {
     }
 
     @ExceptionHandler(value = AccessDeniedException.class)
-    ResponseEntity<ApiBaseResponse> handlingAccessDenied(AccessDeniedException exception) {
-        ErrorCode errorCode = ErrorCode.UNAUTHORIZED;
-
-        return ResponseEntity.status(errorCode.getStatusCode()).body(
-                ApiBaseResponse.builder()
-                        .code(errorCode.getCode())
-                        .message(errorCode.getMessage())
-                        .build());
+    ResponseEntity<byte[]> handlingAccessDenied(AccessDeniedException exception) {
+        errorCounters.get(ErrorCode.UNAUTHORIZED).increment();
+
+        return ErrorResponses.toResponseEntity(ErrorCode.UNAUTHORIZED);
     }
 
     @ExceptionHandler(value = AuthorizationDeniedException.class)
-    ResponseEntity<ApiBaseResponse> handlingAuthorizationDenied(AuthorizationDeniedException exception) {
-        ErrorCode errorCode = ErrorCode.UNAUTHORIZED;
-
-        return ResponseEntity.status(errorCode.getStatusCode()).body(
-                ApiBaseResponse.builder()
-                        .code(errorCode.getCode())
-                        .message(errorCode.getMessage())
-                        .build());
+    ResponseEntity<byte[]> handlingAuthorizationDenied(AuthorizationDeniedException exception) {
+        errorCounters.get(ErrorCode.UNAUTHORIZED).increment();
+
+        return ErrorResponses.toResponseEntity(ErrorCode.UNAUTHORIZED);
     }
 
     private String mapAttributeToMessage(Map<String, Object> attributes, String message) {
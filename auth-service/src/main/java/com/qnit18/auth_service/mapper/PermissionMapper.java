@@ -5,9 +5,11 @@ import com.qnit18.auth_service.dto.request.PermissionRequest;
 import com.qnit18.auth_service.dto.response.PermissionResponse;
 import com.qnit18.auth_service.entity.Permission;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface PermissionMapper {
+    @Mapping(target = "bitIndex", ignore = true)
     Permission toPermission(PermissionRequest permissionRequest);
     PermissionResponse toPermissionResponse(Permission permission);
 }
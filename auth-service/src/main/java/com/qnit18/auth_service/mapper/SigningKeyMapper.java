@@ -0,0 +1,10 @@
+package com.qnit18.auth_service.mapper;
+
+import com.qnit18.auth_service.dto.response.SigningKeyResponse;
+import com.qnit18.auth_service.entity.SigningKey;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface SigningKeyMapper {
+    SigningKeyResponse toSigningKeyResponse(SigningKey signingKey);
+}
@@ -3,8 +3,10 @@ package com.qnit18.auth_service.mapper;
 import com.qnit18.auth_service.dto.request.UserCreationRequest;
 import com.qnit18.auth_service.dto.request.UserUpdateRequest;
 import com.qnit18.auth_service.dto.response.UserResponse;
+import com.qnit18.auth_service.entity.Role;
 import com.qnit18.auth_service.entity.User;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
 @Mapper(componentModel = "spring")
@@ -13,5 +15,12 @@ public interface UserMapper {
 
     UserResponse toUserResponse(User user);
 
+    // Responses carry role names only, never the Role -> Permission graph
+    default String toRoleName(Role role) {
+        return role.getName();
+    }
+
+    @Mapping(target = "roles", ignore = true)
+    @Mapping(target = "password", ignore = true)
     void updateUser(@MappingTarget User user, UserUpdateRequest request);
 }
@@ -0,0 +1,69 @@
+package com.qnit18.auth_service.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/hibernate}: session factory statistics (needs {@code hibernate.generate_statistics}).
+ * A DELETE clears them, which makes before/after comparisons around a load test easy.
+ */
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+    private final Statistics statistics;
+
+    public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("startTime", statistics.getStartTime());
+        result.put("sessionsOpened", statistics.getSessionOpenCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("preparedStatements", statistics.getPrepareStatementCount());
+        result.put("queriesExecuted", statistics.getQueryExecutionCount());
+        result.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("slowestQueryMillis", statistics.getQueryExecutionMaxTime());
+        result.put("entitiesLoaded", statistics.getEntityLoadCount());
+        result.put("entitiesFetched", statistics.getEntityFetchCount());
+        result.put("entitiesInserted", statistics.getEntityInsertCount());
+        result.put("entitiesUpdated", statistics.getEntityUpdateCount());
+        result.put("entitiesDeleted", statistics.getEntityDeleteCount());
+        result.put("collectionsLoaded", statistics.getCollectionLoadCount());
+        result.put("collectionsFetched", statistics.getCollectionFetchCount());
+        result.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        result.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        result.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        result.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        result.put("optimisticFailures", statistics.getOptimisticFailureCount());
+
+        Map<String, Object> queries = new LinkedHashMap<>();
+        Arrays.stream(statistics.getQueries()).forEach(query -> {
+            var queryStatistics = statistics.getQueryStatistics(query);
+            queries.put(query, Map.of(
+                    "executions", queryStatistics.getExecutionCount(),
+                    "rows", queryStatistics.getExecutionRowCount(),
+                    "averageMillis", queryStatistics.getExecutionAvgTime(),
+                    "maxMillis", queryStatistics.getExecutionMaxTime()));
+        });
+        result.put("queries", queries);
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+    }
+}
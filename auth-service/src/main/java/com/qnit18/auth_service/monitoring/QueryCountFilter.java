@@ -0,0 +1,67 @@
+package com.qnit18.auth_service.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each request executes and records them as {@code sql.queries.per.request},
+ * tagged with the matched route rather than the raw URI to keep cardinality bounded.
+ * <p>
+ * With {@code sql.debug.query-count-header} enabled the count is also returned in
+ * {@value #QUERY_COUNT_HEADER}; the body is buffered for that, so leave it off in production.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+    static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean queryCountHeader;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${sql.debug.query-count-header}") boolean queryCountHeader) {
+        this.meterRegistry = meterRegistry;
+        this.queryCountHeader = queryCountHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementListener.QueryCount queryCount = SqlStatementListener.startCounting();
+        // Headers cannot be added once the body is committed, so hold it back until the count is known
+        ContentCachingResponseWrapper wrapper = queryCountHeader ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            filterChain.doFilter(request, wrapper != null ? wrapper : response);
+        } finally {
+            SqlStatementListener.stopCounting();
+            record(request, queryCount.value());
+
+            if (wrapper != null) {
+                wrapper.setHeader(QUERY_COUNT_HEADER, Integer.toString(queryCount.value()));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int queries) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("sql.queries.per.request")
+                .tags("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queries);
+    }
+}
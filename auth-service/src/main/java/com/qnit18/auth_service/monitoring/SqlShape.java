@@ -0,0 +1,78 @@
+package com.qnit18.auth_service.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One statement shape: the SQL with literals replaced by {@code ?} and IN lists collapsed,
+ * so the same query with different parameters or list lengths is measured together.
+ * Meters are tagged with a short {@code shape} id, the first 64 bits of the SHA-256 of the shape,
+ * so distinct statements never share meters in practice; {@code /actuator/sqlshapes} maps ids back to SQL.
+ */
+final class SqlShape {
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int ID_BYTES = 8;
+    private static final Pattern TABLE = Pattern.compile("(?i)\\b(?:from|into|update)\\s+([\\w.\"]+)");
+
+    final String id;
+    final String sql;
+    final String operation;
+    final String table;
+    final Timer timer;
+    final DistributionSummary rows;
+    final Counter slow;
+
+    private SqlShape(String sql, MeterRegistry meterRegistry) {
+        this.sql = sql;
+        this.id = idOf(sql);
+
+        int firstSpace = sql.indexOf(' ');
+        this.operation = (firstSpace < 0 ? sql : sql.substring(0, firstSpace)).toLowerCase(Locale.ROOT);
+        Matcher tableMatcher = TABLE.matcher(sql);
+        this.table = tableMatcher.find() ? tableMatcher.group(1).toLowerCase(Locale.ROOT) : "none";
+
+        this.timer = Timer.builder("sql.statements")
+                .tags("operation", operation, "table", table, "shape", id)
+                .register(meterRegistry);
+        this.rows = DistributionSummary.builder("sql.rows")
+                .description("Rows returned by queries or affected by updates")
+                .tags("operation", operation, "table", table, "shape", id)
+                .register(meterRegistry);
+        this.slow = Counter.builder("sql.slow")
+                .tags("operation", operation, "table", table, "shape", id)
+                .register(meterRegistry);
+    }
+
+    static SqlShape of(String normalizedSql, MeterRegistry meterRegistry) {
+        return new SqlShape(normalizedSql, meterRegistry);
+    }
+
+    private static String idOf(String sql) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(sql.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, ID_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String normalize(String rawSql) {
+        String sql = STRING_LITERAL.matcher(rawSql).replaceAll("?");
+        sql = NUMBER_LITERAL.matcher(sql).replaceAll("?");
+        sql = IN_LIST.matcher(sql).replaceAll("(?)");
+        return WHITESPACE.matcher(sql).replaceAll(" ").trim();
+    }
+}
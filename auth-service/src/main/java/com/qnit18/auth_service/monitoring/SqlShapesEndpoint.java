@@ -0,0 +1,41 @@
+package com.qnit18.auth_service.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/sqlshapes}: every statement shape seen since startup with its SQL, so the
+ * {@code shape} tag on the {@code sql.*} meters can be resolved. Sorted by total time.
+ */
+@Component
+@Endpoint(id = "sqlshapes")
+@RequiredArgsConstructor
+public class SqlShapesEndpoint {
+    private final SqlStatementListener sqlStatementListener;
+
+    @ReadOperation
+    public List<ShapeStatistics> shapes() {
+        return sqlStatementListener.shapes().stream()
+                .map(shape -> new ShapeStatistics(
+                        shape.id,
+                        shape.operation,
+                        shape.table,
+                        shape.sql,
+                        shape.timer.count(),
+                        shape.timer.totalTime(TimeUnit.MILLISECONDS),
+                        shape.timer.max(TimeUnit.MILLISECONDS),
+                        shape.rows.mean(),
+                        (long) shape.slow.count()))
+                .sorted(Comparator.comparingDouble(ShapeStatistics::totalMillis).reversed())
+                .toList();
+    }
+
+    public record ShapeStatistics(String shape, String operation, String table, String sql, long executions,
+                                  double totalMillis, double maxMillis, double meanRows, long slowExecutions) {}
+}
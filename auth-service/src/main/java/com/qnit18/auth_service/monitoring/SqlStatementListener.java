@@ -0,0 +1,165 @@
+package com.qnit18.auth_service.monitoring;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Receives every JDBC statement from the datasource proxy and records, per {@link SqlShape},
+ * execution time ({@code sql.statements}), rows returned or affected ({@code sql.rows}) and
+ * statements slower than {@code sql.slow-query-threshold} ({@code sql.slow}, logged at WARN).
+ * <p>
+ * Rows returned are counted from {@code ResultSet.next()} calls and recorded when the result set
+ * is closed; JDBC reads happen on the thread that executed the statement, so the open result set
+ * is tracked per thread. The same applies to {@link #startCounting() per-request query counts}.
+ */
+@Slf4j
+@Component
+public class SqlStatementListener implements QueryExecutionListener, MethodExecutionListener {
+    private static final ThreadLocal<OpenResultSet> OPEN_RESULT_SET = new ThreadLocal<>();
+    private static final ThreadLocal<QueryCount> QUERY_COUNT = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryThresholdMillis;
+    private final Cache<String, SqlShape> shapesByRawSql;
+    private final ConcurrentMap<String, SqlShape> shapes = new ConcurrentHashMap<>();
+
+    public SqlStatementListener(MeterRegistry meterRegistry,
+                                @Value("${sql.slow-query-threshold}") Duration slowQueryThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdMillis = slowQueryThreshold.toMillis();
+        // Raw SQL differs per IN-list length, so the normalisation cache is bounded
+        this.shapesByRawSql = Caffeine.newBuilder()
+                .maximumSize(2_000)
+                .build();
+    }
+
+    /**
+     * Starts counting statements executed on the current thread until {@link #stopCounting()}.
+     */
+    public static QueryCount startCounting() {
+        QueryCount queryCount = new QueryCount();
+        QUERY_COUNT.set(queryCount);
+        return queryCount;
+    }
+
+    public static void stopCounting() {
+        QUERY_COUNT.remove();
+    }
+
+    Collection<SqlShape> shapes() {
+        return shapes.values();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+
+        QueryCount queryCount = QUERY_COUNT.get();
+        if (queryCount != null) {
+            queryCount.value += Math.max(1, execInfo.getBatchSize()) * queryInfoList.size();
+        }
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            SqlShape shape = shapesByRawSql.get(queryInfo.getQuery(), this::shapeOf);
+            shape.timer.record(elapsedMillis, TimeUnit.MILLISECONDS);
+
+            if (execInfo.getResult() instanceof ResultSet) {
+                OPEN_RESULT_SET.set(new OpenResultSet(shape));
+            } else {
+                recordAffectedRows(shape, execInfo.getResult());
+            }
+
+            if (elapsedMillis >= slowQueryThresholdMillis) {
+                shape.slow.increment();
+                log.warn("Slow SQL {} ms [shape {}, {} {}]: {}", elapsedMillis, shape.id, shape.operation,
+                        shape.table, shape.sql);
+            }
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (!(executionContext.getTarget() instanceof ResultSet)) {
+            return;
+        }
+
+        OpenResultSet openResultSet = OPEN_RESULT_SET.get();
+        if (openResultSet == null) {
+            return;
+        }
+
+        switch (executionContext.getMethod().getName()) {
+            case "next" -> {
+                if (Boolean.TRUE.equals(executionContext.getResult())) {
+                    openResultSet.rows++;
+                }
+            }
+            case "close" -> {
+                openResultSet.shape.rows.record(openResultSet.rows);
+                OPEN_RESULT_SET.remove();
+            }
+            default -> {
+            }
+        }
+    }
+
+    private SqlShape shapeOf(String rawSql) {
+        return shapes.computeIfAbsent(SqlShape.normalize(rawSql), sql -> SqlShape.of(sql, meterRegistry));
+    }
+
+    private static void recordAffectedRows(SqlShape shape, Object result) {
+        if (result instanceof Integer count && count >= 0) {
+            shape.rows.record(count);
+        } else if (result instanceof Long count && count >= 0) {
+            shape.rows.record(count);
+        } else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                if (count >= 0) {
+                    shape.rows.record(count);
+                }
+            }
+        }
+    }
+
+    private static final class OpenResultSet {
+        final SqlShape shape;
+        long rows;
+
+        OpenResultSet(SqlShape shape) {
+            this.shape = shape;
+        }
+    }
+
+    public static final class QueryCount {
+        private int value;
+
+        public int value() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.dto.request.UserRoleAssignmentRequest;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.StringJoiner;
+
+/**
+ * Set-based writes to the {@code users_roles} and {@code roles_permissions} join tables.
+ * Each call is one statement however many rows it touches; no entity is loaded.
+ * Role and permission names that do not exist are skipped by the joins.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntitlementRepository {
+    private static final String GRANT_USER_ROLES = """
+            insert into users_roles (users_id, roles_name)
+            select u.id, r.name
+            from users u
+            cross join roles r
+            where r.name in (:roles)
+              and not exists (select 1 from users_roles ur where ur.users_id = u.id and ur.roles_name = r.name)
+              and %s
+            """;
+
+    private static final String REVOKE_USER_ROLES = """
+            delete from users_roles
+            where roles_name in (:roles)
+              and users_id in (select u.id from users u where %s)
+            """;
+
+    private static final String GRANT_ROLE_PERMISSIONS = """
+            insert into roles_permissions (roles_name, permissions_name)
+            select r.name, p.name
+            from roles r
+            cross join permissions p
+            where r.name in (:roles)
+              and p.name in (:permissions)
+              and not exists (select 1 from roles_permissions rp where rp.roles_name = r.name and rp.permissions_name = p.name)
+            """;
+
+    private static final String REVOKE_ROLE_PERMISSIONS = """
+            delete from roles_permissions
+            where roles_name in (:roles)
+              and permissions_name in (:permissions)
+            """;
+
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public int grantUserRoles(UserRoleAssignmentRequest request) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("roles", request.getRoles());
+        return namedParameterJdbcTemplate.update(GRANT_USER_ROLES.formatted(userFilter(request, parameters)), parameters);
+    }
+
+    public int revokeUserRoles(UserRoleAssignmentRequest request) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("roles", request.getRoles());
+        return namedParameterJdbcTemplate.update(REVOKE_USER_ROLES.formatted(userFilter(request, parameters)), parameters);
+    }
+
+    public int grantRolePermissions(Collection<String> roles, Collection<String> permissions) {
+        return namedParameterJdbcTemplate.update(GRANT_ROLE_PERMISSIONS, new MapSqlParameterSource()
+                .addValue("roles", roles)
+                .addValue("permissions", permissions));
+    }
+
+    public int revokeRolePermissions(Collection<String> roles, Collection<String> permissions) {
+        return namedParameterJdbcTemplate.update(REVOKE_ROLE_PERMISSIONS, new MapSqlParameterSource()
+                .addValue("roles", roles)
+                .addValue("permissions", permissions));
+    }
+
+    /**
+     * Conditions on {@code users u}, joined with AND. Callers must check that at least one filter is set.
+     */
+    private static String userFilter(UserRoleAssignmentRequest request, MapSqlParameterSource parameters) {
+        StringJoiner filter = new StringJoiner(" and ", "(", ")");
+
+        if (!CollectionUtils.isEmpty(request.getUserIds())) {
+            filter.add("u.id in (:userIds)");
+            parameters.addValue("userIds", request.getUserIds());
+        }
+        if (!CollectionUtils.isEmpty(request.getUsernames())) {
+            filter.add("u.username in (:usernames)");
+            parameters.addValue("usernames", request.getUsernames());
+        }
+        if (StringUtils.hasText(request.getUsernamePrefix())) {
+            filter.add("u.username like :usernamePrefix escape '\\'");
+            parameters.addValue("usernamePrefix", request.getUsernamePrefix()
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_") + "%");
+        }
+        if (StringUtils.hasText(request.getWithRole())) {
+            filter.add("exists (select 1 from users_roles f where f.users_id = u.id and f.roles_name = :withRole)");
+            parameters.addValue("withRole", request.getWithRole());
+        }
+        return filter.toString();
+    }
+}
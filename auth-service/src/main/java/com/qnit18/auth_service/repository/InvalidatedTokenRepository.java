@@ -0,0 +1,39 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.entity.InvalidatedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
+
+    @Query("select t.id from invalidated_tokens t where t.expiryTime > :now")
+    List<String> findUnexpiredIds(Instant now);
+
+    @Query("select t.id from invalidated_tokens t where t.revokedAt >= :since")
+    List<String> findIdsRevokedSince(Instant since);
+
+    /**
+     * Insert-only, unlike {@code save()}, which merges: returns 0 when the id was already revoked,
+     * also by a concurrent caller on another instance.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            insert into invalidated_tokens (id, expiry_time, revoked_at)
+            values (:id, :expiryTime, :revokedAt)
+            on conflict (id) do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(String id, Instant expiryTime, Instant revokedAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from invalidated_tokens t where t.expiryTime <= :now")
+    int deleteExpired(Instant now);
+}
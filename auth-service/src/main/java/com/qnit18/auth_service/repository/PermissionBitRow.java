@@ -0,0 +1,3 @@
+package com.qnit18.auth_service.repository;
+
+public record PermissionBitRow(String name, Integer bitIndex) {}
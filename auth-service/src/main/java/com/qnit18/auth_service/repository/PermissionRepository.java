@@ -1,10 +1,39 @@
 package com.qnit18.auth_service.repository;
 
 import com.qnit18.auth_service.entity.Permission;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PermissionRepository extends JpaRepository<Permission, String> {
-}
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Permission> findAllByNameIn(Collection<String> names);
+
+    /**
+     * Next compact-claim bit index. A sequence rather than max + 1, so the index of a deleted
+     * permission is never handed to a new one while tokens carrying it are still valid.
+     */
+    @Query(value = "select nextval('permission_bit_index_seq')", nativeQuery = true)
+    long nextBitIndex();
 
+    /**
+     * Number of bit indices handed out so far, including those of deleted permissions. Never decreases.
+     */
+    @Query(value = "select case when is_called then last_value + 1 else last_value end from permission_bit_index_seq",
+            nativeQuery = true)
+    long bitIndexVersion();
+
+    @Query("""
+            select new com.qnit18.auth_service.repository.PermissionBitRow(p.name, p.bitIndex)
+            from permissions p
+            where p.bitIndex is not null
+            """)
+    List<PermissionBitRow> findAllBitIndices();
+}
@@ -0,0 +1,8 @@
+package com.qnit18.auth_service.repository;
+
+/**
+ * One role/permission pair from {@link RoleRepository#findAllRolePermissions()};
+ * the permission fields are null for a role without permissions.
+ */
+public record RolePermissionRow(String roleName, String roleDescription,
+                                String permissionName, String permissionDescription) {}
@@ -2,9 +2,21 @@ package com.qnit18.auth_service.repository;
 
 import com.qnit18.auth_service.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface RoleRepository extends JpaRepository<Role, String> {
+    /**
+     * Every role with its permissions as flat rows in one query, without loading entities.
+     */
+    @Query("""
+            select new com.qnit18.auth_service.repository.RolePermissionRow(r.name, r.description, p.name, p.description)
+            from roles r
+            left join r.permissions p
+            order by r.name, p.name
+            """)
+    List<RolePermissionRow> findAllRolePermissions();
 }
-
@@ -0,0 +1,13 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.entity.SigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface SigningKeyRepository extends JpaRepository<SigningKey, String> {
+    List<SigningKey> findByExpireAtIsNullOrExpireAtAfter(Instant now);
+}
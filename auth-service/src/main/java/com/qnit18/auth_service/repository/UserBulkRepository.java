@@ -0,0 +1,62 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.entity.User;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk user writes straight through JDBC batches. Ids are assigned by the caller, so rows go out
+ * in one batch per statement instead of a round trip per entity.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserBulkRepository {
+    private static final String SELECT_EXISTING_USERNAMES = "select username from users where username in (:usernames)";
+    private static final String INSERT_USER =
+            "insert into users (id, username, password, first_name, last_name, dob) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE = "insert into users_roles (users_id, roles_name) values (?, ?)";
+
+    JdbcTemplate jdbcTemplate;
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Set<String> findExistingUsernames(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(SELECT_EXISTING_USERNAMES,
+                Map.of("usernames", usernames), String.class));
+    }
+
+    /**
+     * Inserts the users and, when {@code roleName} is not null, links each of them to that role.
+     */
+    public void insertAll(List<User> users, String roleName) {
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (statement, user) -> {
+            statement.setString(1, user.getId());
+            statement.setString(2, user.getUsername());
+            statement.setString(3, user.getPassword());
+            statement.setString(4, user.getFirstName());
+            statement.setString(5, user.getLastName());
+            statement.setDate(6, user.getDob() == null ? null : Date.valueOf(user.getDob()));
+        });
+
+        if (roleName != null) {
+            jdbcTemplate.batchUpdate(INSERT_USER_ROLE, users, users.size(), (statement, user) -> {
+                statement.setString(1, user.getId());
+                statement.setString(2, roleName);
+            });
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.dto.response.UserResponse;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Read-only {@link UserResponse} reads straight from JDBC, with role names aggregated per row so that
+ * listings never touch the lazy {@code User.roles} / {@code Role.permissions} graph.
+ */
+@Repository
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class UserSummaryRepository {
+    private static final String SELECT_USER_SUMMARY = """
+            select u.id, u.username, u.first_name, u.last_name, u.dob,
+                   (select string_agg(ur.roles_name, ',') from users_roles ur where ur.users_id = u.id) as roles
+            from users u
+            """;
+
+    private static final RowMapper<UserResponse> USER_SUMMARY_MAPPER = (rs, rowNum) -> toUserSummary(rs);
+
+    JdbcTemplate jdbcTemplate;
+
+    public Optional<UserResponse> findById(String id) {
+        return jdbcTemplate.query(SELECT_USER_SUMMARY + "where u.id = ?", USER_SUMMARY_MAPPER, id)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Keyset page ordered by id: the next page starts strictly after {@code afterId}.
+     */
+    public List<UserResponse> findPage(String afterId, int limit) {
+        if (afterId == null) {
+            return jdbcTemplate.query(SELECT_USER_SUMMARY + "order by u.id limit ?",
+                    USER_SUMMARY_MAPPER, limit);
+        }
+        return jdbcTemplate.query(SELECT_USER_SUMMARY + "where u.id > ? order by u.id limit ?",
+                USER_SUMMARY_MAPPER, afterId, limit);
+    }
+
+    /**
+     * Reads every user through a server-side cursor of {@code fetchSize} rows.
+     * Must run inside a transaction, otherwise the PostgreSQL driver ignores the fetch size.
+     */
+    public void streamAll(int fetchSize, Consumer<UserResponse> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_USER_SUMMARY + "order by u.id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(toUserSummary(rs)));
+    }
+
+    private static UserResponse toUserSummary(ResultSet rs) throws SQLException {
+        Date dob = rs.getDate("dob");
+        String roles = rs.getString("roles");
+
+        return UserResponse.builder()
+                .id(rs.getString("id"))
+                .username(rs.getString("username"))
+                .firstName(rs.getString("first_name"))
+                .lastName(rs.getString("last_name"))
+                .dob(dob == null ? null : dob.toLocalDate())
+                .roles(StringUtils.hasText(roles) ? Set.of(roles.split(",")) : Set.of())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.qnit18.auth_service.security;
+
+import java.util.Base64;
+import java.util.BitSet;
+
+/**
+ * The compact token format: {@code scope} keeps only role authorities, {@code perm} carries the
+ * granted permissions as a base64url bitset over {@code permissions.bit_index}, and {@code pv} the
+ * {@link PermissionIndexRegistry#version()} it was encoded against. 200 permissions take 34
+ * characters instead of several kilobytes of names.
+ */
+public final class CompactPermissionClaim {
+    public static final String PERMISSIONS_CLAIM = "perm";
+    public static final String VERSION_CLAIM = "pv";
+
+    /** {@code security.jwt.claim-format} */
+    public enum Format {
+        SCOPE,
+        COMPACT
+    }
+
+    public static String encode(BitSet bits) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bits.toByteArray());
+    }
+
+    public static BitSet decode(String claim) {
+        return BitSet.valueOf(Base64.getUrlDecoder().decode(claim));
+    }
+
+    private CompactPermissionClaim() {}
+}
@@ -0,0 +1,71 @@
+package com.qnit18.auth_service.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * HS512 with a shared secret. Initialised {@link Mac} instances are pooled rather than held
+ * per thread, which also keeps them reusable on virtual threads.
+ */
+final class HmacJwsKey implements JwsKey {
+    private static final String MAC_ALGORITHM = "HmacSHA512";
+
+    private final String keyId;
+    private final SecretKeySpec secretKey;
+    private final InstancePool<Mac> macs;
+
+    HmacJwsKey(String keyId, byte[] secret) {
+        this.keyId = keyId;
+        this.secretKey = new SecretKeySpec(secret, MAC_ALGORITHM);
+        this.macs = new InstancePool<>(this::newMac, Mac::reset, InstancePool.defaultMaxIdle());
+
+        // Fail at startup rather than on the first request if the JCA provider rejects the key
+        macs.release(macs.borrow());
+    }
+
+    @Override
+    public String keyId() {
+        return keyId;
+    }
+
+    @Override
+    public JWSAlgorithm algorithm() {
+        return JWSAlgorithm.HS512;
+    }
+
+    @Override
+    public byte[] sign(byte[] input, int length) {
+        Mac mac = macs.borrow();
+        try {
+            mac.update(input, 0, length);
+            return mac.doFinal();
+        } finally {
+            macs.release(mac);
+        }
+    }
+
+    @Override
+    public boolean verify(byte[] input, int length, byte[] signature) {
+        return MessageDigest.isEqual(sign(input, length), signature);
+    }
+
+    @Override
+    public JWK publicJwk() {
+        return null;
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(secretKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + MAC_ALGORITHM, e);
+        }
+    }
+}
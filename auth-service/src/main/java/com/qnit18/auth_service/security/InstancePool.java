@@ -0,0 +1,51 @@
+package com.qnit18.auth_service.security;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Small lock-free pool of stateful, non thread-safe JCA objects ({@code Mac}, {@code MessageDigest}).
+ * <p>
+ * Replaces per-thread caching: with virtual threads every request runs on a new thread,
+ * so a {@code ThreadLocal} would initialise a fresh instance per request and never reuse it.
+ * Borrowing never blocks; when the pool is empty a new instance is created, and at most
+ * {@code maxIdle} instances are kept on release.
+ */
+final class InstancePool<T> {
+    private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Supplier<T> factory;
+    private final Consumer<T> reset;
+    private final int maxIdle;
+
+    InstancePool(Supplier<T> factory, Consumer<T> reset, int maxIdle) {
+        this.factory = factory;
+        this.reset = reset;
+        this.maxIdle = maxIdle;
+    }
+
+    T borrow() {
+        T instance = idle.poll();
+        if (instance == null) {
+            return factory.get();
+        }
+        idleCount.decrementAndGet();
+        return instance;
+    }
+
+    void release(T instance) {
+        reset.accept(instance);
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(instance);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    static int defaultMaxIdle() {
+        return Runtime.getRuntime().availableProcessors() * 2;
+    }
+}
@@ -0,0 +1,93 @@
+package com.qnit18.auth_service.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Minimal JSON writer for JWT claims. Dates are written as seconds since the epoch,
+ * as required for {@code exp}, {@code iat} and {@code nbf}.
+ */
+final class JsonClaimsWriter {
+
+    static String write(JWTClaimsSet claimsSet) {
+        StringBuilder json = new StringBuilder(256);
+        writeObject(json, claimsSet.getClaims());
+        return json.toString();
+    }
+
+    private static void writeObject(StringBuilder json, Map<?, ?> object) {
+        json.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : object.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            writeString(json, String.valueOf(entry.getKey()));
+            json.append(':');
+            writeValue(json, entry.getValue());
+        }
+        json.append('}');
+    }
+
+    private static void writeValue(StringBuilder json, Object value) {
+        switch (value) {
+            case String string -> writeString(json, string);
+            case Date date -> json.append(date.getTime() / 1000);
+            case Instant instant -> json.append(instant.getEpochSecond());
+            case Number number -> json.append(number);
+            case Boolean bool -> json.append(bool);
+            case Map<?, ?> map -> writeObject(json, map);
+            case Collection<?> collection -> {
+                json.append('[');
+                boolean first = true;
+                for (Object element : collection) {
+                    if (!first) {
+                        json.append(',');
+                    }
+                    first = false;
+                    if (element == null) {
+                        json.append("null");
+                    } else {
+                        writeValue(json, element);
+                    }
+                }
+                json.append(']');
+            }
+            default -> writeString(json, value.toString());
+        }
+    }
+
+    private static void writeString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                case '\b' -> json.append("\\b");
+                case '\f' -> json.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private JsonClaimsWriter() {}
+}
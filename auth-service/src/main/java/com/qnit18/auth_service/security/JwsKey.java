@@ -0,0 +1,23 @@
+package com.qnit18.auth_service.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+
+/**
+ * A key {@link JwtTokenEngine} signs and verifies with. Implementations are thread-safe
+ * and keep their JCA objects initialised, so no key material is parsed per token.
+ */
+public interface JwsKey {
+
+    /** The {@code kid} header value, or {@code null} when tokens carry none. */
+    String keyId();
+
+    JWSAlgorithm algorithm();
+
+    byte[] sign(byte[] input, int length);
+
+    boolean verify(byte[] input, int length, byte[] signature);
+
+    /** The public half to publish in the JWK set, or {@code null} for a shared secret. */
+    JWK publicJwk();
+}
@@ -0,0 +1,148 @@
+package com.qnit18.auth_service.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.OctetKeyPair;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Factories for the supported {@link JwsKey}s: HS512, RS256 and EdDSA over Ed25519.
+ * Asymmetric keys get the RFC 7638 thumbprint of their public JWK as {@code kid}.
+ */
+public final class JwsKeys {
+    private static final int MIN_HMAC_KEY_LENGTH = 64;
+    private static final int RSA_KEY_SIZE = 2048;
+    private static final int ED25519_KEY_LENGTH = 32;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    public static JwsKey hmac(String keyId, String secret) {
+        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length < MIN_HMAC_KEY_LENGTH) {
+            throw new IllegalStateException("HMAC signing keys must be at least 512 bits for " + JWSAlgorithm.HS512);
+        }
+        return new HmacJwsKey(keyId, keyBytes);
+    }
+
+    /**
+     * @param privateKeyPem PKCS#8 PEM, or {@code null} for a key that only verifies
+     * @param publicKeyPem  X.509 SubjectPublicKeyInfo PEM
+     */
+    public static JwsKey fromPem(JWSAlgorithm algorithm, String privateKeyPem, String publicKeyPem) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm(algorithm));
+            PrivateKey privateKey = privateKeyPem == null
+                    ? null
+                    : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decodePem(privateKeyPem)));
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decodePem(publicKeyPem)));
+            return of(algorithm, privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot read " + algorithm + " key", e);
+        }
+    }
+
+    public static JwsKey generate(JWSAlgorithm algorithm) {
+        KeyPair keyPair = generateKeyPair(algorithm);
+        return of(algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    /**
+     * A new RS256 or EdDSA key pair encoded for storage, readable with {@link #fromPem}.
+     */
+    public static PemKeyPair generatePem(JWSAlgorithm algorithm) {
+        KeyPair keyPair = generateKeyPair(algorithm);
+        return new PemKeyPair(encodePem("PRIVATE KEY", keyPair.getPrivate().getEncoded()),
+                encodePem("PUBLIC KEY", keyPair.getPublic().getEncoded()));
+    }
+
+    /**
+     * A random secret for {@link #hmac}, long enough for HS512.
+     */
+    public static String generateHmacSecret() {
+        byte[] secret = new byte[MIN_HMAC_KEY_LENGTH];
+        SECURE_RANDOM.nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+
+    private static KeyPair generateKeyPair(JWSAlgorithm algorithm) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(keyAlgorithm(algorithm));
+            if (JWSAlgorithm.RS256.equals(algorithm)) {
+                generator.initialize(RSA_KEY_SIZE);
+            }
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm + " key", e);
+        }
+    }
+
+    private static JwsKey of(JWSAlgorithm algorithm, PrivateKey privateKey, PublicKey publicKey) {
+        String signatureAlgorithm = JWSAlgorithm.RS256.equals(algorithm) ? "SHA256withRSA" : "Ed25519";
+        return new SignatureJwsKey(algorithm, signatureAlgorithm, privateKey, publicKey, publicJwk(algorithm, publicKey));
+    }
+
+    private static JWK publicJwk(JWSAlgorithm algorithm, PublicKey publicKey) {
+        try {
+            if (JWSAlgorithm.RS256.equals(algorithm)) {
+                RSAKey jwk = new RSAKey.Builder((RSAPublicKey) publicKey)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(algorithm)
+                        .build();
+                return new RSAKey.Builder(jwk).keyID(jwk.computeThumbprint().toString()).build();
+            }
+
+            // The X.509 encoding of an Ed25519 key ends with the raw 32-byte public key
+            byte[] encoded = publicKey.getEncoded();
+            byte[] x = Arrays.copyOfRange(encoded, encoded.length - ED25519_KEY_LENGTH, encoded.length);
+            OctetKeyPair jwk = new OctetKeyPair.Builder(Curve.Ed25519, Base64URL.encode(x))
+                    .keyUse(KeyUse.SIGNATURE)
+                    .algorithm(algorithm)
+                    .build();
+            return new OctetKeyPair.Builder(jwk).keyID(jwk.computeThumbprint().toString()).build();
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Cannot compute the thumbprint of the " + algorithm + " key", e);
+        }
+    }
+
+    private static String keyAlgorithm(JWSAlgorithm algorithm) {
+        if (JWSAlgorithm.RS256.equals(algorithm)) {
+            return "RSA";
+        }
+        if (JWSAlgorithm.EdDSA.equals(algorithm)) {
+            return "Ed25519";
+        }
+        throw new IllegalArgumentException("Unsupported asymmetric algorithm " + algorithm);
+    }
+
+    private static String encodePem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static byte[] decodePem(String pem) {
+        String base64 = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    public record PemKeyPair(String privateKey, String publicKey) {}
+
+    private JwsKeys() {}
+}
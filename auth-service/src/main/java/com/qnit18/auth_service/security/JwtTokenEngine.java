@@ -0,0 +1,238 @@
+package com.qnit18.auth_service.security;
+
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Token signing and verification shared by token issuance, {@code /auth/introspect}
+ * and the resource-server {@link org.springframework.security.oauth2.jwt.JwtDecoder}.
+ * <p>
+ * Holds an immutable {@link KeyRing}: one key that signs and every key that still verifies.
+ * The header segment of each key is encoded once, so a token's verifier is found with a
+ * single map lookup on its first segment and tokens issued here never have their header
+ * parsed. Rings are swapped atomically by {@link #install}. Claims are written straight
+ * to JSON instead of going through {@code Payload(claimsSet.toJSONObject())}.
+ * <p>
+ * Successful decodes are timed per phase as {@code auth.token.decode} with
+ * {@code phase=verify} (key lookup and signature) and {@code phase=parse} (claims).
+ */
+public class JwtTokenEngine {
+    private static final Base64.Encoder BASE64URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+    private static final MappedJwtClaimSetConverter CLAIM_SET_CONVERTER =
+            MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+
+    private final Timer verifyTimer;
+    private final Timer parseTimer;
+    private volatile KeyRing keyRing;
+
+    public JwtTokenEngine(JwsKey signingKey, MeterRegistry meterRegistry) {
+        this.verifyTimer = decodePhase(meterRegistry, "verify");
+        this.parseTimer = decodePhase(meterRegistry, "parse");
+        install(signingKey, List.of(signingKey));
+    }
+
+    /**
+     * Replaces the key ring. {@code signingKey} is added to the verifying keys if missing.
+     */
+    public void install(JwsKey signingKey, Collection<JwsKey> verifyingKeys) {
+        keyRing = KeyRing.of(signingKey, verifyingKeys);
+    }
+
+    public String signingKeyId() {
+        return keyRing.signing().key().keyId();
+    }
+
+    /**
+     * The public keys tokens can be verified with, for {@code /.well-known/jwks.json}.
+     */
+    public PublishedKeys publishedKeys() {
+        return keyRing.publishedKeys();
+    }
+
+    public String sign(JWTClaimsSet claimsSet) {
+        byte[] payload = JsonClaimsWriter.write(claimsSet).getBytes(StandardCharsets.UTF_8);
+        RingKey signing = keyRing.signing();
+        String headerSegment = signing.headerSegment();
+
+        StringBuilder token = new StringBuilder(headerSegment.length() + payload.length * 2)
+                .append(headerSegment)
+                .append('.')
+                .append(BASE64URL_ENCODER.encodeToString(payload));
+
+        byte[] signature = signing.key().sign(token.toString().getBytes(StandardCharsets.US_ASCII), token.length());
+
+        return token.append('.')
+                .append(BASE64URL_ENCODER.encodeToString(signature))
+                .toString();
+    }
+
+    /**
+     * Verifies the signature and returns the token with its claims converted the same way
+     * {@code NimbusJwtDecoder} does. Expiry is not checked here.
+     *
+     * @throws BadJwtException if the token is malformed or its signature does not match
+     */
+    public Jwt decode(String token) {
+        if (token == null) {
+            throw new BadJwtException("Missing token");
+        }
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (firstDot <= 0 || secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
+            throw new BadJwtException("Malformed token");
+        }
+
+        long startedAt = System.nanoTime();
+        RingKey verifying = resolveKey(token.substring(0, firstDot));
+        byte[] signature = decodeSegment(token.substring(secondDot + 1));
+
+        if (!verifying.key().verify(token.getBytes(StandardCharsets.US_ASCII), secondDot, signature)) {
+            throw new BadJwtException("Invalid signature");
+        }
+
+        long verifiedAt = System.nanoTime();
+        verifyTimer.record(verifiedAt - startedAt, TimeUnit.NANOSECONDS);
+
+        Map<String, Object> claims = parseClaims(token.substring(firstDot + 1, secondDot));
+
+        try {
+            Jwt jwt = Jwt.withTokenValue(token)
+                    .headers(h -> h.putAll(verifying.headers()))
+                    .claims(c -> c.putAll(CLAIM_SET_CONVERTER.convert(claims)))
+                    .build();
+            parseTimer.record(System.nanoTime() - verifiedAt, TimeUnit.NANOSECONDS);
+            return jwt;
+        } catch (IllegalArgumentException e) {
+            throw new BadJwtException("Malformed token", e);
+        }
+    }
+
+    /**
+     * Tokens issued by this service match a precomputed header segment. Anything else, such as
+     * the same header serialised in a different member order, is parsed and looked up by {@code kid}.
+     */
+    private RingKey resolveKey(String headerSegment) {
+        KeyRing ring = keyRing;
+        RingKey ringKey = ring.byHeaderSegment().get(headerSegment);
+        if (ringKey != null) {
+            return ringKey;
+        }
+
+        JWSHeader header;
+        try {
+            header = JWSHeader.parse(new Base64URL(headerSegment));
+        } catch (ParseException e) {
+            throw new BadJwtException("Malformed token header", e);
+        }
+
+        ringKey = ring.byKeyId().get(Objects.toString(header.getKeyID(), ""));
+        if (ringKey == null) {
+            throw new BadJwtException("Unknown key " + header.getKeyID());
+        }
+        if (!ringKey.key().algorithm().equals(header.getAlgorithm())) {
+            throw new BadJwtException("Unsupported algorithm " + header.getAlgorithm());
+        }
+        return ringKey;
+    }
+
+    private static Map<String, Object> parseClaims(String segment) {
+        try {
+            return JSONObjectUtils.parse(new String(decodeSegment(segment), StandardCharsets.UTF_8));
+        } catch (ParseException e) {
+            throw new BadJwtException("Malformed token payload", e);
+        }
+    }
+
+    private static byte[] decodeSegment(String segment) {
+        try {
+            return BASE64URL_DECODER.decode(segment);
+        } catch (IllegalArgumentException e) {
+            throw new BadJwtException("Malformed token", e);
+        }
+    }
+
+    private static Timer decodePhase(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("auth.token.decode")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record RingKey(JwsKey key, String headerSegment, Map<String, Object> headers) {
+
+        static RingKey of(JwsKey key) {
+            JWSHeader header = new JWSHeader.Builder(key.algorithm())
+                    .keyID(key.keyId())
+                    .build();
+            return new RingKey(key, header.toBase64URL().toString(), Map.copyOf(header.toJSONObject()));
+        }
+    }
+
+    /**
+     * Keys without a {@code kid} (the HS512 key from {@code security.signing-key}) are indexed under "".
+     */
+    private record KeyRing(RingKey signing,
+                           Map<String, RingKey> byHeaderSegment,
+                           Map<String, RingKey> byKeyId,
+                           PublishedKeys publishedKeys) {
+
+        static KeyRing of(JwsKey signingKey, Collection<JwsKey> verifyingKeys) {
+            Map<String, RingKey> byKeyId = new HashMap<>();
+            Map<String, RingKey> byHeaderSegment = new HashMap<>();
+            List<JWK> publicJwks = new ArrayList<>();
+
+            RingKey signing = RingKey.of(signingKey);
+            Stream.concat(Stream.of(signing), verifyingKeys.stream().filter(key -> key != signingKey).map(RingKey::of))
+                    .forEach(ringKey -> {
+                        String keyId = Objects.toString(ringKey.key().keyId(), "");
+                        if (byKeyId.putIfAbsent(keyId, ringKey) != null) {
+                            throw new IllegalArgumentException("Duplicate signing key id '" + keyId + "'");
+                        }
+                        byHeaderSegment.put(ringKey.headerSegment(), ringKey);
+                        if (ringKey.key().publicJwk() != null) {
+                            publicJwks.add(ringKey.key().publicJwk());
+                        }
+                    });
+
+            return new KeyRing(signing, Map.copyOf(byHeaderSegment), Map.copyOf(byKeyId),
+                    PublishedKeys.of(new JWKSet(publicJwks)));
+        }
+    }
+
+    /**
+     * A JWK set with only public members, serialised once together with its entity tag.
+     */
+    public record PublishedKeys(String json, String entityTag) {
+
+        static PublishedKeys of(JWKSet jwkSet) {
+            String json = jwkSet.toString(true);
+            return new PublishedKeys(json,
+                    "\"" + DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8)) + "\"");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.qnit18.auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket per key, implemented as GCRA: each key holds a single
+ * "theoretical arrival time" that is advanced with compare-and-set.
+ * <p>
+ * A bucket untouched for one full window is back at capacity, so evicting it after that
+ * much idle time loses nothing; {@code maxKeys} caps memory under key floods.
+ */
+public class KeyedRateLimiter {
+    private final long windowNanos;
+    private final long emissionIntervalNanos;
+    private final Cache<String, AtomicLong> arrivals;
+
+    public KeyedRateLimiter(int capacity, Duration window, long maxKeys) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.windowNanos = window.toNanos();
+        this.emissionIntervalNanos = windowNanos / capacity;
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window)
+                .build();
+    }
+
+    public boolean tryAcquire(String key) {
+        long now = System.nanoTime();
+        AtomicLong theoreticalArrival = arrivals.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = (current - now > 0 ? current : now) + emissionIntervalNanos;
+
+            if (next - now > windowNanos) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    public long trackedKeys() {
+        return arrivals.estimatedSize();
+    }
+}
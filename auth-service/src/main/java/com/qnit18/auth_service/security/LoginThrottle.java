@@ -0,0 +1,64 @@
+package com.qnit18.auth_service.security;
+
+import com.qnit18.auth_service.exception.AppException;
+import com.qnit18.auth_service.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * In-memory throttling of {@code /auth/token} by client address and by username,
+ * checked before the user lookup and the BCrypt comparison.
+ */
+@Component
+public class LoginThrottle {
+    private static final String METRIC_PREFIX = "auth.login.throttle";
+
+    private final KeyedRateLimiter addressLimiter;
+    private final KeyedRateLimiter usernameLimiter;
+    private final Counter addressRejections;
+    private final Counter usernameRejections;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${security.login-throttle.per-address.capacity}") int addressCapacity,
+                         @Value("${security.login-throttle.per-address.window}") Duration addressWindow,
+                         @Value("${security.login-throttle.per-username.capacity}") int usernameCapacity,
+                         @Value("${security.login-throttle.per-username.window}") Duration usernameWindow,
+                         @Value("${security.login-throttle.max-tracked-keys}") long maxTrackedKeys) {
+        this.addressLimiter = new KeyedRateLimiter(addressCapacity, addressWindow, maxTrackedKeys);
+        this.usernameLimiter = new KeyedRateLimiter(usernameCapacity, usernameWindow, maxTrackedKeys);
+
+        this.addressRejections = Counter.builder(METRIC_PREFIX + ".rejected")
+                .tag("key", "address")
+                .register(meterRegistry);
+        this.usernameRejections = Counter.builder(METRIC_PREFIX + ".rejected")
+                .tag("key", "username")
+                .register(meterRegistry);
+
+        Gauge.builder(METRIC_PREFIX + ".keys", addressLimiter, KeyedRateLimiter::trackedKeys)
+                .tag("key", "address")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".keys", usernameLimiter, KeyedRateLimiter::trackedKeys)
+                .tag("key", "username")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws AppException {@link ErrorCode#TOO_MANY_LOGIN_ATTEMPTS} when either bucket is empty
+     */
+    public void acquire(String username, String clientAddress) {
+        if (!addressLimiter.tryAcquire(Objects.toString(clientAddress, ""))) {
+            addressRejections.increment();
+            throw new AppException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS);
+        }
+        if (!usernameLimiter.tryAcquire(Objects.toString(username, ""))) {
+            usernameRejections.increment();
+            throw new AppException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.qnit18.auth_service.security;
+
+import com.qnit18.auth_service.repository.PermissionBitRow;
+import com.qnit18.auth_service.repository.PermissionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Permission names by {@code bit_index}, used to expand the compact {@code perm} claim.
+ * <p>
+ * Indices are assigned from {@code permission_bit_index_seq} and never reused, so the version is the
+ * number of indices the sequence has handed out. It never goes down, also not when permissions
+ * are deleted. A token issued against a newer registry (another instance created a permission)
+ * triggers a reload, at most once per {@code security.jwt.permission-registry.min-reload-interval};
+ * a periodic reload picks up everything else. {@link #generation()} changes whenever the
+ * mapping does, so cached expansions can be keyed by it.
+ */
+@Slf4j
+@Component
+public class PermissionIndexRegistry {
+    private final PermissionRepository permissionRepository;
+    private final long minReloadIntervalNanos;
+    // A lock rather than synchronized: reload queries the database and must not pin a virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], 0, 0);
+    private volatile long lastReloadNanos = System.nanoTime();
+
+    public PermissionIndexRegistry(PermissionRepository permissionRepository,
+                                   @Value("${security.jwt.permission-registry.min-reload-interval}") Duration minReloadInterval) {
+        this.permissionRepository = permissionRepository;
+        this.minReloadIntervalNanos = minReloadInterval.toNanos();
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    public int version() {
+        return snapshot.version;
+    }
+
+    public long generation() {
+        return snapshot.generation;
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.permission-registry.reload-interval}",
+            initialDelayString = "${security.jwt.permission-registry.reload-interval}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            // Version first, so it never counts an index handed out after the rows were read. An index
+            // handed out but not yet committed is missing until the next reload changes the generation
+            int version = Math.toIntExact(permissionRepository.bitIndexVersion());
+            install(version, permissionRepository.findAllBitIndices());
+            lastReloadNanos = System.nanoTime();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Names of the permissions whose bits are set. Bits of permissions deleted since the token
+     * was issued are skipped.
+     */
+    public List<String> names(BitSet bits, int tokenVersion) {
+        if (isReloadDue(tokenVersion)) {
+            reloadLock.lock();
+            try {
+                // Requests queued behind a reload find it done
+                if (isReloadDue(tokenVersion)) {
+                    reload();
+                }
+            } finally {
+                reloadLock.unlock();
+            }
+        }
+
+        String[] namesByIndex = snapshot.namesByIndex;
+        List<String> names = new ArrayList<>(bits.cardinality());
+        for (int index = bits.nextSetBit(0); index >= 0; index = bits.nextSetBit(index + 1)) {
+            if (index < namesByIndex.length && namesByIndex[index] != null) {
+                names.add(namesByIndex[index]);
+            } else {
+                log.debug("Unknown permission bit {} in a token of registry version {}", index, tokenVersion);
+            }
+        }
+        return names;
+    }
+
+    private boolean isReloadDue(int tokenVersion) {
+        return tokenVersion > version() && System.nanoTime() - lastReloadNanos >= minReloadIntervalNanos;
+    }
+
+    void install(int version, List<PermissionBitRow> rows) {
+        int length = rows.stream().mapToInt(PermissionBitRow::bitIndex).max().orElse(-1) + 1;
+        String[] namesByIndex = new String[length];
+        rows.forEach(row -> namesByIndex[row.bitIndex()] = row.name());
+
+        Snapshot current = snapshot;
+        int installedVersion = Math.max(current.version, Math.max(version, length));
+        if (installedVersion != current.version || !Arrays.equals(namesByIndex, current.namesByIndex)) {
+            snapshot = new Snapshot(namesByIndex, installedVersion, current.generation + 1);
+        }
+    }
+
+    private record Snapshot(String[] namesByIndex, int version, long generation) {}
+}
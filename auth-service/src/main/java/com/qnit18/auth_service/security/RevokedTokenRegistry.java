@@ -0,0 +1,154 @@
+package com.qnit18.auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qnit18.auth_service.repository.InvalidatedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Revoked token ids ({@code jti}) backed by the {@code invalidated_tokens} table.
+ * <p>
+ * Lookups go through an in-memory {@link BloomFilter} first, so a token that was never
+ * revoked is answered without touching the database. Only filter hits (revoked tokens and
+ * the configured false-positive fraction) are confirmed against the table, and those
+ * verdicts are cached for one sync interval.
+ * <p>
+ * Revocations made by other instances are picked up by a periodic sync of rows revoked since
+ * the previous one. Expired rows are deleted periodically and the filter is rebuilt without them.
+ */
+@Slf4j
+@Component
+public class RevokedTokenRegistry {
+    private static final String METRIC_PREFIX = "auth.token.revocation";
+
+    private final InvalidatedTokenRepository invalidatedTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+    private final Duration syncInterval;
+    private final Cache<String, Boolean> confirmedVerdicts;
+    private final Counter filterMisses;
+    private final Counter databaseLookups;
+
+    private volatile BloomFilter filter;
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public RevokedTokenRegistry(InvalidatedTokenRepository invalidatedTokenRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${security.revocation.bloom.expected-insertions}") long expectedInsertions,
+                                @Value("${security.revocation.bloom.false-positive-probability}") double falsePositiveProbability,
+                                @Value("${security.revocation.sync-interval}") Duration syncInterval,
+                                @Value("${security.revocation.verdict-cache-size}") long verdictCacheSize) {
+        this.invalidatedTokenRepository = invalidatedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.syncInterval = syncInterval;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.confirmedVerdicts = Caffeine.newBuilder()
+                .maximumSize(verdictCacheSize)
+                .expireAfterWrite(syncInterval)
+                .build();
+
+        this.filterMisses = Counter.builder(METRIC_PREFIX + ".lookups")
+                .tag("source", "filter")
+                .register(meterRegistry);
+        this.databaseLookups = Counter.builder(METRIC_PREFIX + ".lookups")
+                .tag("source", "database")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    /**
+     * Tokens without a {@code jti} were issued before revocation existed and are never reported as revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (!filter.mightContain(tokenId)) {
+            filterMisses.increment();
+            return false;
+        }
+
+        // Not cache.get(id, loader): the loader would run inside ConcurrentHashMap.compute and hold
+        // its bin monitor through the query, pinning the carrier of a virtual thread
+        Boolean verdict = confirmedVerdicts.getIfPresent(tokenId);
+        if (verdict == null) {
+            databaseLookups.increment();
+            verdict = invalidatedTokenRepository.existsById(tokenId);
+            confirmedVerdicts.put(tokenId, verdict);
+        }
+        return verdict;
+    }
+
+    /**
+     * @return {@code true} if this call revoked the token, {@code false} if it was already revoked
+     */
+    public boolean revoke(String tokenId, Instant expiryTime) {
+        boolean revoked = invalidatedTokenRepository.insertIfAbsent(tokenId, expiryTime, Instant.now()) == 1;
+
+        filter.put(tokenId);
+        confirmedVerdicts.put(tokenId, true);
+        return revoked;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval}",
+            initialDelayString = "${security.revocation.sync-interval}")
+    void sync() {
+        // Overlap by one interval so rows committed late or stamped by a lagging clock are not missed
+        Instant since = lastSync.minus(syncInterval);
+        Instant startedAt = Instant.now();
+
+        addRevoked(invalidatedTokenRepository.findIdsRevokedSince(since), filter);
+        lastSync = startedAt;
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.cleanup-interval}",
+            initialDelayString = "${security.revocation.cleanup-interval}")
+    void cleanup() {
+        int deleted = invalidatedTokenRepository.deleteExpired(Instant.now());
+        log.info("Deleted {} expired revoked tokens", deleted);
+        rebuild();
+    }
+
+    /**
+     * Loads every unexpired revoked id into a fresh filter, then replays anything revoked
+     * while it was being loaded.
+     */
+    private void rebuild() {
+        Instant startedAt = Instant.now();
+
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        List<String> ids = invalidatedTokenRepository.findUnexpiredIds(startedAt);
+        ids.forEach(rebuilt::put);
+
+        filter = rebuilt;
+        lastSync = startedAt;
+        addRevoked(invalidatedTokenRepository.findIdsRevokedSince(startedAt.minus(syncInterval)), rebuilt);
+
+        if (ids.size() > expectedInsertions) {
+            log.warn("{} revoked tokens exceed security.revocation.bloom.expected-insertions={}, "
+                    + "false positives will rise above {}", ids.size(), expectedInsertions, falsePositiveProbability);
+        }
+    }
+
+    private void addRevoked(List<String> ids, BloomFilter target) {
+        for (String id : ids) {
+            target.put(id);
+            confirmedVerdicts.put(id, true);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.qnit18.auth_service.security;
+
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * Rejects tokens whose {@code jti} was revoked through {@code /auth/logout} or {@code /auth/refresh}.
+ */
+public class RevokedTokenValidator implements OAuth2TokenValidator<Jwt> {
+    private static final OAuth2Error REVOKED =
+            new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN, "Token has been revoked", null);
+
+    private final RevokedTokenRegistry revokedTokenRegistry;
+
+    public RevokedTokenValidator(RevokedTokenRegistry revokedTokenRegistry) {
+        this.revokedTokenRegistry = revokedTokenRegistry;
+    }
+
+    @Override
+    public OAuth2TokenValidatorResult validate(Jwt token) {
+        return revokedTokenRegistry.isRevoked(token.getId())
+                ? OAuth2TokenValidatorResult.failure(REVOKED)
+                : OAuth2TokenValidatorResult.success();
+    }
+}
@@ -0,0 +1,127 @@
+package com.qnit18.auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Granted authorities for a token's {@code scope} claim, shared between all tokens carrying the
+ * same scope string. Users fall into a small number of role combinations, so after warm-up each
+ * request reuses an immutable list instead of splitting the claim and allocating authorities.
+ * Tokens in the {@link CompactPermissionClaim compact format} are keyed by their roles, permission
+ * bitset, registry version and the local {@link PermissionIndexRegistry#generation()}, and expanded
+ * once per key; a registry change thereby retires every earlier expansion.
+ * <p>
+ * Expansions are kept in a bounded cache; hit, miss and eviction counters are published
+ * under the {@code cache.*} metrics with {@code cache=scope-authorities}. A {@code scope} claim
+ * that is not a string (not issued by this service) goes through the standard converter uncached.
+ */
+@Slf4j
+@Component
+public class ScopeAuthoritiesCache implements Converter<Jwt, Collection<GrantedAuthority>> {
+    private static final String CACHE_NAME = "scope-authorities";
+    private static final String SCOPE_CLAIM = "scope";
+    private static final Expansion EMPTY = new Expansion(List.of(), "");
+
+    private final Cache<Key, Expansion> cache;
+    private final PermissionIndexRegistry permissionIndexRegistry;
+    private final JwtGrantedAuthoritiesConverter fallback = new JwtGrantedAuthoritiesConverter();
+
+    public ScopeAuthoritiesCache(MeterRegistry meterRegistry,
+                                 @Value("${security.authorities-cache.maximum-size}") long maximumSize,
+                                 PermissionIndexRegistry permissionIndexRegistry) {
+        this.permissionIndexRegistry = permissionIndexRegistry;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        fallback.setAuthorityPrefix("");
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public Collection<GrantedAuthority> convert(Jwt jwt) {
+        Object scope = jwt.getClaims().get(SCOPE_CLAIM);
+        if (scope != null && !(scope instanceof String)) {
+            return fallback.convert(jwt);
+        }
+        return expand(jwt).authorities();
+    }
+
+    /**
+     * The token's authorities as one space-delimited string, with compact permissions expanded.
+     */
+    public String scope(Jwt jwt) {
+        return expand(jwt).scope();
+    }
+
+    private Expansion expand(Jwt jwt) {
+        Object scope = jwt.getClaims().get(SCOPE_CLAIM);
+        Object permissions = jwt.getClaims().get(CompactPermissionClaim.PERMISSIONS_CLAIM);
+        if (scope == null && permissions == null) {
+            return EMPTY;
+        }
+
+        int version = jwt.getClaims().get(CompactPermissionClaim.VERSION_CLAIM) instanceof Number number
+                ? number.intValue()
+                : 0;
+        String bits = permissions instanceof String claim ? claim : null;
+        long generation = bits == null ? 0 : permissionIndexRegistry.generation();
+        Key key = new Key(scope == null ? "" : scope.toString(), bits, version, generation);
+
+        Expansion expansion = cache.getIfPresent(key);
+        if (expansion == null) {
+            expansion = toExpansion(key);
+            // Bits from a registry newer than ours are missing from the expansion; retry after the next reload
+            if (version <= permissionIndexRegistry.version()) {
+                cache.put(key, expansion);
+            }
+        }
+        return expansion;
+    }
+
+    private Expansion toExpansion(Key key) {
+        List<String> names = new ArrayList<>();
+        for (String authority : key.scope().split(" ")) {
+            if (!authority.isEmpty()) {
+                names.add(authority);
+            }
+        }
+
+        if (key.permissions() != null) {
+            try {
+                names.addAll(permissionIndexRegistry.names(CompactPermissionClaim.decode(key.permissions()), key.version()));
+            } catch (IllegalArgumentException e) {
+                // Signed by us, so this is a bug rather than tampering; grant nothing from the claim
+                log.error("Malformed {} claim: {}", CompactPermissionClaim.PERMISSIONS_CLAIM, e.getMessage());
+            }
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        StringJoiner scope = new StringJoiner(" ");
+        for (String name : names) {
+            authorities.add(new SimpleGrantedAuthority(name));
+            scope.add(name);
+        }
+        return new Expansion(List.copyOf(authorities), scope.toString());
+    }
+
+    private record Key(String scope, String permissions, int version, long generation) {}
+
+    private record Expansion(List<GrantedAuthority> authorities, String scope) {}
+}
@@ -0,0 +1,107 @@
+package com.qnit18.auth_service.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+
+/**
+ * RS256 or EdDSA (Ed25519) with a key pair. Both algorithms produce the raw signature bytes
+ * JWS expects, so no DER conversion is needed. The private key is optional: a verify-only key
+ * still validates tokens and is published in the JWK set.
+ */
+final class SignatureJwsKey implements JwsKey {
+    private final JWSAlgorithm algorithm;
+    private final String signatureAlgorithm;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final JWK publicJwk;
+    private final InstancePool<Signature> signers;
+    private final InstancePool<Signature> verifiers;
+
+    SignatureJwsKey(JWSAlgorithm algorithm, String signatureAlgorithm, PrivateKey privateKey, PublicKey publicKey, JWK publicJwk) {
+        this.algorithm = algorithm;
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+        this.publicJwk = publicJwk;
+        // sign() and verify() reset the object to its initialised state, so nothing to do on release
+        this.signers = new InstancePool<>(this::newSigner, signature -> {}, InstancePool.defaultMaxIdle());
+        this.verifiers = new InstancePool<>(this::newVerifier, signature -> {}, InstancePool.defaultMaxIdle());
+
+        verifiers.release(verifiers.borrow());
+        if (privateKey != null) {
+            signers.release(signers.borrow());
+        }
+    }
+
+    @Override
+    public String keyId() {
+        return publicJwk.getKeyID();
+    }
+
+    @Override
+    public JWSAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public byte[] sign(byte[] input, int length) {
+        if (privateKey == null) {
+            throw new IllegalStateException("Key " + keyId() + " can only verify");
+        }
+
+        // An instance that failed mid-operation is dropped rather than returned in an unknown state
+        Signature signer = signers.borrow();
+        try {
+            signer.update(input, 0, length);
+            byte[] signature = signer.sign();
+            signers.release(signer);
+            return signature;
+        } catch (SignatureException e) {
+            throw new IllegalStateException("Cannot sign with " + algorithm, e);
+        }
+    }
+
+    @Override
+    public boolean verify(byte[] input, int length, byte[] signature) {
+        Signature verifier = verifiers.borrow();
+        try {
+            verifier.update(input, 0, length);
+            boolean valid = verifier.verify(signature);
+            verifiers.release(verifier);
+            return valid;
+        } catch (SignatureException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public JWK publicJwk() {
+        return publicJwk;
+    }
+
+    private Signature newSigner() {
+        try {
+            Signature signature = Signature.getInstance(signatureAlgorithm);
+            signature.initSign(privateKey);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + signatureAlgorithm, e);
+        }
+    }
+
+    private Signature newVerifier() {
+        try {
+            Signature signature = Signature.getInstance(signatureAlgorithm);
+            signature.initVerify(publicKey);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + signatureAlgorithm, e);
+        }
+    }
+}
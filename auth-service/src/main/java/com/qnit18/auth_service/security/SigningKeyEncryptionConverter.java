@@ -0,0 +1,82 @@
+package com.qnit18.auth_service.security;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Encrypts {@code signing_keys.private_key} with AES-256-GCM under {@code security.jwt.key-ring.encryption-key},
+ * so a database read or backup alone does not yield signing material. Stored values are
+ * {@code v1:} followed by the base64 of a random 12-byte IV and the ciphertext.
+ * <p>
+ * Values without the prefix are rows written before encryption and are read as plaintext;
+ * they are encrypted the next time the row is saved.
+ */
+@Converter
+public class SigningKeyEncryptionConverter implements AttributeConverter<String, String> {
+    private static final String PREFIX = "v1:";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+    private static final int KEY_LENGTH = 32;
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    private final SecretKeySpec key;
+
+    public SigningKeyEncryptionConverter(@Value("${security.jwt.key-ring.encryption-key}") String encryptionKey) {
+        byte[] keyBytes = Base64.getDecoder().decode(encryptionKey);
+        if (keyBytes.length != KEY_LENGTH) {
+            throw new IllegalStateException("security.jwt.key-ring.encryption-key must be 32 bytes, base64 encoded");
+        }
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String plaintext) {
+        if (plaintext == null) {
+            return null;
+        }
+
+        byte[] iv = new byte[IV_LENGTH];
+        SECURE_RANDOM.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            byte[] ciphertext = cipher.doFinal(plaintext.getBytes(StandardCharsets.UTF_8));
+            return PREFIX + Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_LENGTH + ciphertext.length)
+                    .put(iv)
+                    .put(ciphertext)
+                    .array());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt signing key", e);
+        }
+    }
+
+    @Override
+    public String convertToEntityAttribute(String stored) {
+        if (stored == null || !stored.startsWith(PREFIX)) {
+            return stored;
+        }
+
+        byte[] payload = Base64.getDecoder().decode(stored.substring(PREFIX.length()));
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, payload, 0, IV_LENGTH));
+            byte[] plaintext = cipher.doFinal(payload, IV_LENGTH, payload.length - IV_LENGTH);
+            return new String(plaintext, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            // Wrong key or tampered row: fail the load rather than return a key without its secret,
+            // which a later save would write back over the encrypted value
+            throw new IllegalStateException("Cannot decrypt signing key", e);
+        }
+    }
+}
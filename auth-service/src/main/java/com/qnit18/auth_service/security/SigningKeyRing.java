@@ -0,0 +1,121 @@
+package com.qnit18.auth_service.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.qnit18.auth_service.entity.SigningKey;
+import com.qnit18.auth_service.repository.SigningKeyRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the {@link JwtTokenEngine} key ring in line with the {@code signing_keys} table.
+ * <p>
+ * Every unexpired key verifies; the most recently activated key inside its signing window signs,
+ * falling back to the configured key. Activation and retirement are timestamps, so scheduled
+ * rotations take effect on the next reload on every instance without a restart. Keys already
+ * loaded are reused, so a reload never re-initialises their JCA objects.
+ */
+@Slf4j
+@Component
+public class SigningKeyRing {
+    private final SigningKeyRepository signingKeyRepository;
+    private final JwtTokenEngine tokenEngine;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final JwsKey configuredSigningKey;
+    // A lock rather than synchronized: reload queries the database and must not pin a virtual thread
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private Map<String, JwsKey> loadedKeys = Map.of();
+
+    public SigningKeyRing(SigningKeyRepository signingKeyRepository,
+                          JwtTokenEngine tokenEngine,
+                          VerifiedTokenCache verifiedTokenCache,
+                          @Qualifier("configuredSigningKey") JwsKey configuredSigningKey) {
+        this.signingKeyRepository = signingKeyRepository;
+        this.tokenEngine = tokenEngine;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.configuredSigningKey = configuredSigningKey;
+    }
+
+    @PostConstruct
+    void load() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.key-ring.reload-interval}",
+            initialDelayString = "${security.jwt.key-ring.reload-interval}")
+    public void reload() {
+        reloadLock.lock();
+        try {
+            Instant now = Instant.now();
+            Map<String, JwsKey> keys = new HashMap<>();
+            JwsKey signingKey = configuredSigningKey;
+            Instant signingSince = Instant.MIN;
+
+            for (SigningKey row : signingKeyRepository.findByExpireAtIsNullOrExpireAtAfter(now)) {
+                JwsKey key = loadedKeys.get(row.getId());
+                if (key == null) {
+                    key = toJwsKey(row);
+                    if (key == null) {
+                        continue;
+                    }
+                }
+                keys.put(row.getId(), key);
+
+                boolean signing = !row.getActivateAt().isAfter(now)
+                        && (row.getRetireAt() == null || row.getRetireAt().isAfter(now));
+                if (signing && row.getActivateAt().isAfter(signingSince)) {
+                    signingKey = key;
+                    signingSince = row.getActivateAt();
+                }
+            }
+
+            List<JwsKey> verifyingKeys = new ArrayList<>(keys.values());
+            verifyingKeys.add(configuredSigningKey);
+
+            String previousSigningKeyId = tokenEngine.signingKeyId();
+            tokenEngine.install(signingKey, verifyingKeys);
+
+            // Tokens verified with a key that was just removed must not be served from the cache
+            if (!keys.keySet().containsAll(loadedKeys.keySet())) {
+                verifiedTokenCache.invalidateAll();
+            }
+            loadedKeys = Map.copyOf(keys);
+
+            if (!Objects.equals(previousSigningKeyId, signingKey.keyId())) {
+                log.info("Signing tokens with key {}, {} keys verifying", signingKey.keyId(), verifyingKeys.size());
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private JwsKey toJwsKey(SigningKey row) {
+        try {
+            JWSAlgorithm algorithm = JWSAlgorithm.parse(row.getAlgorithm());
+            if (JWSAlgorithm.HS512.equals(algorithm)) {
+                return JwsKeys.hmac(row.getId(), row.getPrivateKey());
+            }
+
+            JwsKey key = JwsKeys.fromPem(algorithm, row.getPrivateKey(), row.getPublicKey());
+            if (!row.getId().equals(key.keyId())) {
+                throw new IllegalStateException("Stored id does not match the key thumbprint " + key.keyId());
+            }
+            return key;
+        } catch (RuntimeException e) {
+            // One unreadable row must not take the remaining keys down with it
+            log.error("Skipping signing key {}: {}", row.getId(), e.getMessage());
+            return null;
+        }
+    }
+}
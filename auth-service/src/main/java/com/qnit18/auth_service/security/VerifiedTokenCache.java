@@ -0,0 +1,131 @@
+package com.qnit18.auth_service.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of {@link JwtTokenEngine#decode} results keyed by the SHA-256 of the token.
+ * <p>
+ * Verified tokens stay cached until their own {@code exp}; malformed, badly signed and
+ * already expired tokens are cached as negative results for {@code security.token-cache.negative-ttl}.
+ * Callers still check expiry on every hit. Hit, miss and eviction counters are published
+ * under the {@code cache.*} metrics with {@code cache=verified-tokens}.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final String CACHE_NAME = "verified-tokens";
+
+    private final JwtTokenEngine tokenEngine;
+    private final Duration negativeTtl;
+    private final Cache<String, Verification> cache;
+    private final InstancePool<MessageDigest> digests =
+            new InstancePool<>(VerifiedTokenCache::newDigest, MessageDigest::reset, InstancePool.defaultMaxIdle());
+
+    public VerifiedTokenCache(JwtTokenEngine tokenEngine,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.token-cache.maximum-size}") long maximumSize,
+                              @Value("${security.token-cache.negative-ttl}") Duration negativeTtl) {
+        this.tokenEngine = tokenEngine;
+        this.negativeTtl = negativeTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new VerificationExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @throws BadJwtException if the token is malformed or its signature does not match
+     */
+    public Jwt decode(String token) {
+        if (token == null) {
+            throw new BadJwtException("Missing token");
+        }
+
+        Verification verification = cache.get(digest(token), key -> verify(token));
+
+        if (verification.failure() != null) {
+            throw new BadJwtException(verification.failure());
+        }
+        if (!verification.jwt().getTokenValue().equals(token)) {
+            // Digest collision: never serve another token's claims
+            return tokenEngine.decode(token);
+        }
+        return verification.jwt();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private Verification verify(String token) {
+        try {
+            Jwt jwt = tokenEngine.decode(token);
+            Instant now = Instant.now();
+            Instant expiresAt = jwt.getExpiresAt();
+            Duration timeToLive = expiresAt != null && expiresAt.isAfter(now)
+                    ? Duration.between(now, expiresAt)
+                    : negativeTtl;
+            return new Verification(jwt, null, timeToLive.toNanos());
+        } catch (BadJwtException e) {
+            return new Verification(null, e.getMessage(), negativeTtl.toNanos());
+        }
+    }
+
+    private String digest(String token) {
+        MessageDigest digest = digests.borrow();
+        try {
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } finally {
+            digests.release(digest);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Verification(Jwt jwt, String failure, long timeToLiveNanos) {}
+
+    private static class VerificationExpiry implements Expiry<String, Verification> {
+        @Override
+        public long expireAfterCreate(String key, Verification value, long currentTime) {
+            return value.timeToLiveNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Verification value, long currentTime, long currentDuration) {
+            return value.timeToLiveNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Verification value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.qnit18.auth_service.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+
+/**
+ * Resource-server decoder backed by {@link VerifiedTokenCache}, validated with the same
+ * defaults as {@code NimbusJwtDecoder} plus the given validator. Validation runs on every call
+ * since a cached token can still expire or be revoked. Timed as {@code auth.jwt.decoder}
+ * tagged with {@code outcome=success|invalid}.
+ */
+public class VerifiedTokenJwtDecoder implements JwtDecoder {
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final OAuth2TokenValidator<Jwt> validator;
+    private final Timer successTimer;
+    private final Timer invalidTimer;
+
+    public VerifiedTokenJwtDecoder(VerifiedTokenCache verifiedTokenCache, OAuth2TokenValidator<Jwt> validator,
+                                   MeterRegistry meterRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.validator = JwtValidators.createDefaultWithValidators(validator);
+        this.successTimer = outcome(meterRegistry, "success");
+        this.invalidTimer = outcome(meterRegistry, "invalid");
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Timer.Sample sample = Timer.start();
+        try {
+            Jwt jwt = validate(verifiedTokenCache.decode(token));
+            sample.stop(successTimer);
+            return jwt;
+        } catch (JwtException e) {
+            sample.stop(invalidTimer);
+            throw e;
+        }
+    }
+
+    private Jwt validate(Jwt jwt) {
+        OAuth2TokenValidatorResult result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            String description = result.getErrors().iterator().next().getDescription();
+            throw new JwtValidationException("An error occurred while attempting to decode the Jwt: " + description,
+                    result.getErrors());
+        }
+        return jwt;
+    }
+
+    private static Timer outcome(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.jwt.decoder")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,45 @@
+package com.qnit18.auth_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers for {@link AuthenticationService}, registered once rather than looked up per call.
+ * <ul>
+ *     <li>{@code auth.authenticate.phase} tagged {@code phase=user_lookup|password_check|scope_build|sign}</li>
+ *     <li>{@code auth.introspect} tagged {@code valid=true|false}</li>
+ * </ul>
+ */
+@Component
+public class AuthenticationMetrics {
+    final Timer userLookup;
+    final Timer passwordCheck;
+    final Timer scopeBuild;
+    final Timer sign;
+    final Timer introspectValid;
+    final Timer introspectInvalid;
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        this.userLookup = phase(meterRegistry, "user_lookup");
+        this.passwordCheck = phase(meterRegistry, "password_check");
+        this.scopeBuild = phase(meterRegistry, "scope_build");
+        this.sign = phase(meterRegistry, "sign");
+        this.introspectValid = introspect(meterRegistry, true);
+        this.introspectInvalid = introspect(meterRegistry, false);
+    }
+
+    private static Timer phase(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("auth.authenticate.phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static Timer introspect(MeterRegistry meterRegistry, boolean valid) {
+        return Timer.builder("auth.introspect")
+                .tag("valid", String.valueOf(valid))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
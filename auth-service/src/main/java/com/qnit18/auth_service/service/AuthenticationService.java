@@ -1,18 +1,27 @@
 package com.qnit18.auth_service.service;
 
-import com.nimbusds.jose.*;
-import com.nimbusds.jose.crypto.MACSigner;
-import com.nimbusds.jose.crypto.MACVerifier;
 import com.nimbusds.jwt.JWTClaimsSet;
-import com.nimbusds.jwt.SignedJWT;
 import com.qnit18.auth_service.dto.request.AuthenticationRequest;
+import com.qnit18.auth_service.dto.request.BatchIntrospectRequest;
 import com.qnit18.auth_service.dto.request.IntrospectRequest;
+import com.qnit18.auth_service.dto.request.LogoutRequest;
+import com.qnit18.auth_service.dto.request.RefreshRequest;
 import com.qnit18.auth_service.dto.response.AuthenticationResponse;
+import com.qnit18.auth_service.dto.response.BatchIntrospectResponse;
 import com.qnit18.auth_service.dto.response.IntrospectResponse;
+import com.qnit18.auth_service.entity.Permission;
+import com.qnit18.auth_service.entity.Role;
 import com.qnit18.auth_service.entity.User;
 import com.qnit18.auth_service.exception.AppException;
 import com.qnit18.auth_service.exception.ErrorCode;
 import com.qnit18.auth_service.repository.UserRepository;
+import com.qnit18.auth_service.security.CompactPermissionClaim;
+import com.qnit18.auth_service.security.JwtTokenEngine;
+import com.qnit18.auth_service.security.PermissionIndexRegistry;
+import com.qnit18.auth_service.security.RevokedTokenRegistry;
+import com.qnit18.auth_service.security.ScopeAuthoritiesCache;
+import com.qnit18.auth_service.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.Timer;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -20,36 +29,66 @@ import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
 import java.util.Date;
+import java.util.List;
 import java.util.StringJoiner;
+import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class AuthenticationService {
-    @NonFinal
-    @Value("${security.signing-key}")
-    String SIGNING_KEY;
-
     UserRepository userRepository;
     PasswordEncoder passwordEncoder;
+    JwtTokenEngine tokenEngine;
+    VerifiedTokenCache verifiedTokenCache;
+    RoleScopeCache roleScopeCache;
+    RevokedTokenRegistry revokedTokenRegistry;
+    AuthenticationMetrics metrics;
+    ScopeAuthoritiesCache scopeAuthoritiesCache;
+    PermissionIndexRegistry permissionIndexRegistry;
+
+    @NonFinal
+    @Value("${security.jwt.claim-format}")
+    CompactPermissionClaim.Format claimFormat;
+
+    @NonFinal
+    @Value("${security.token.refreshable-duration}")
+    Duration refreshableDuration;
+
+    @NonFinal
+    @Value("${security.introspect.batch.max-size}")
+    int introspectBatchMaxSize;
+
+    @NonFinal
+    @Value("${security.introspect.batch.parallel-threshold}")
+    int introspectBatchParallelThreshold;
 
     public AuthenticationResponse authenticate(AuthenticationRequest authenticationRequest) {
-        var userOptional = userRepository.findByUsername(authenticationRequest.getUsername())
+        long scopeGeneration = roleScopeCache.generation();
+        var userOptional = metrics.userLookup.record(() ->
+                        userRepository.findWithRolesAndPermissionsByUsername(authenticationRequest.getUsername()))
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-        boolean authenticated = passwordEncoder.matches(authenticationRequest.getPassword(), userOptional.getPassword());
+        boolean authenticated = metrics.passwordCheck.record(() ->
+                passwordEncoder.matches(authenticationRequest.getPassword(), userOptional.getPassword()));
 
         if (!authenticated){
             throw new AppException(ErrorCode.UNAUTHENTICATED);
         }
 
-        var token = generateToken(userOptional);
+        rehashIfOutdated(userOptional, authenticationRequest.getPassword());
+
+        var token = generateToken(userOptional, scopeGeneration);
 
         return AuthenticationResponse.builder()
                 .authenticated(true)
@@ -57,63 +96,198 @@ public class AuthenticationService {
                 .build();
     }
 
-    public IntrospectResponse introspect(IntrospectRequest request) {
-        var token = request.getToken();
+    /**
+     * Re-encodes a hash stored with an older scheme or work factor while the raw password is at hand.
+     * Skipped when the hashing executor is saturated; the next login will try again.
+     */
+    private void rehashIfOutdated(User user, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        try {
+            user.setPassword(passwordEncoder.encode(rawPassword));
+            userRepository.save(user);
+            log.info("Rehashed password of user {}", user.getUsername());
+        } catch (AppException e) {
+            log.debug("Skipping password rehash of user {} : {}", user.getUsername(), e.getMessage());
+        }
+    }
+
+    public void logout(LogoutRequest request) {
+        Jwt jwt = decodeOrThrow(request.getToken());
+
+        if (jwt.getId() == null) {
+            log.info("Token of user {} has no jti and cannot be revoked", jwt.getSubject());
+            return;
+        }
+
+        Instant revocationExpiry = revocationExpiry(jwt);
+        if (revocationExpiry.isBefore(Instant.now())) {
+            log.info("Token {} can no longer be used or refreshed", jwt.getId());
+            return;
+        }
+
+        revokedTokenRegistry.revoke(jwt.getId(), revocationExpiry);
+    }
+
+    /**
+     * Exchanges a token for a new one with freshly loaded scopes. The token may already be expired
+     * as long as it was issued within {@code security.token.refreshable-duration}. Revoking it is the claim:
+     * of concurrent refreshes of the same token, on any instance, only the one whose revocation
+     * inserted the row gets a new token.
+     */
+    public AuthenticationResponse refreshToken(RefreshRequest request) {
+        long scopeGeneration = roleScopeCache.generation();
+        Jwt jwt = decodeOrThrow(request.getToken());
+
+        if (jwt.getId() == null
+                || revocationExpiry(jwt).isBefore(Instant.now())
+                || revokedTokenRegistry.isRevoked(jwt.getId())) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+
+        var user = userRepository.findWithRolesAndPermissionsByUsername(jwt.getSubject())
+                .orElseThrow(() -> new AppException(ErrorCode.UNAUTHENTICATED));
+
+        if (!revokedTokenRegistry.revoke(jwt.getId(), revocationExpiry(jwt))) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+
+        return AuthenticationResponse.builder()
+                .authenticated(true)
+                .token(generateToken(user, scopeGeneration))
+                .build();
+    }
 
+    private Jwt decodeOrThrow(String token) {
         try {
-            JWSVerifier verifier = new MACVerifier(SIGNING_KEY);
-            SignedJWT signedJWT = SignedJWT.parse(token);
+            return verifiedTokenCache.decode(token);
+        } catch (JwtException e) {
+            throw new AppException(ErrorCode.UNAUTHENTICATED);
+        }
+    }
+
+    /**
+     * A revoked id has to be remembered for as long as the token could be used or refreshed.
+     */
+    private Instant revocationExpiry(Jwt jwt) {
+        Instant refreshableUntil = jwt.getIssuedAt() == null ? Instant.EPOCH : jwt.getIssuedAt().plus(refreshableDuration);
+        Instant expiresAt = jwt.getExpiresAt() == null ? Instant.EPOCH : jwt.getExpiresAt();
+        return refreshableUntil.isAfter(expiresAt) ? refreshableUntil : expiresAt;
+    }
 
-            Date expiration = signedJWT.getJWTClaimsSet().getExpirationTime();
+    public IntrospectResponse introspect(IntrospectRequest request) {
+        return introspectToken(request.getToken());
+    }
 
-            boolean verified = signedJWT.verify(verifier) && expiration.after(new Date());
+    public BatchIntrospectResponse introspectBatch(BatchIntrospectRequest request) {
+        List<String> tokens = CollectionUtils.isEmpty(request.getTokens()) ? List.of() : request.getTokens();
 
-            return IntrospectResponse.builder()
-                    .valid(verified)
-                    .build();
-        } catch (Exception e) {
-            log.error("Cannot introspect token : {}", e.getMessage());
-            throw new RuntimeException(e);
+        if (tokens.size() > introspectBatchMaxSize) {
+            throw new AppException(ErrorCode.INTROSPECT_BATCH_TOO_LARGE);
         }
+
+        // Verification is CPU-bound, so only large batches are worth splitting across cores
+        var stream = tokens.size() >= introspectBatchParallelThreshold
+                ? tokens.parallelStream()
+                : tokens.stream();
+
+        return BatchIntrospectResponse.builder()
+                .results(stream.map(this::introspectToken).toList())
+                .build();
+    }
+
+    private IntrospectResponse introspectToken(String token) {
+        Timer.Sample sample = Timer.start();
+        try {
+            Jwt jwt = verifiedTokenCache.decode(token);
+
+            if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isAfter(Instant.now())
+                    && !revokedTokenRegistry.isRevoked(jwt.getId())) {
+                sample.stop(metrics.introspectValid);
+                return IntrospectResponse.builder()
+                        .valid(true)
+                        .expiresAt(jwt.getExpiresAt())
+                        .scope(scopeAuthoritiesCache.scope(jwt))
+                        .build();
+            }
+        } catch (JwtException e) {
+            log.debug("Cannot introspect token : {}", e.getMessage());
+        }
+
+        sample.stop(metrics.introspectInvalid);
+        return IntrospectResponse.builder()
+                .valid(false)
+                .build();
     }
 
     String generateToken(User user){
-        JWSHeader header = new JWSHeader(JWSAlgorithm.HS512);
+        return generateToken(user, roleScopeCache.generation());
+    }
 
-        // Token generation logic to be implemented
-        JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+    /**
+     * @param scopeGeneration {@link RoleScopeCache#generation()} read before {@code user} was loaded
+     */
+    String generateToken(User user, long scopeGeneration){
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
                 .subject(user.getUsername())
                 .issuer("qnit18.com")
                 .expirationTime(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
                 .issueTime(new Date())
-                .claim("scope", buildScope(user))
-                .build();
+                .jwtID(UUID.randomUUID().toString());
 
-        Payload payload = new Payload(claimsSet.toJSONObject());
-
-        JWSObject jwsObject = new JWSObject(header, payload);
-
-        try {
-            jwsObject.sign(new MACSigner(SIGNING_KEY));
-        } catch (JOSEException e) {
-            log.info("Error signing the token: {}", e.getMessage());
-            throw new RuntimeException(e);
+        if (claimFormat == CompactPermissionClaim.Format.COMPACT) {
+            metrics.scopeBuild.record(() -> addCompactScope(user, claims));
+        } else {
+            claims.claim("scope", metrics.scopeBuild.record(() -> buildScope(user, scopeGeneration)));
         }
-        return jwsObject.serialize();
+
+        JWTClaimsSet claimsSet = claims.build();
+        return metrics.sign.record(() -> tokenEngine.sign(claimsSet));
     }
 
-    public String buildScope(User user){
+    /**
+     * Role authorities in {@code scope}, permissions as bits in {@code perm}. Permissions without
+     * a bit index yet stay in {@code scope} by name.
+     */
+    private void addCompactScope(User user, JWTClaimsSet.Builder claims) {
         StringJoiner scopeJoiner = new StringJoiner(" ");
+        BitSet permissionBits = new BitSet();
+
         if (!CollectionUtils.isEmpty(user.getRoles())) {
-            user.getRoles().forEach(role -> {
+            for (Role role : user.getRoles()) {
                 scopeJoiner.add("ROLE_" + role.getName());
-                if (!CollectionUtils.isEmpty(role.getPermissions())) {
-                    role.getPermissions().forEach(permission -> scopeJoiner.add(permission.getName()));
+                if (CollectionUtils.isEmpty(role.getPermissions())) {
+                    continue;
                 }
-            });
-            return scopeJoiner.toString();
-        } else {
+                for (Permission permission : role.getPermissions()) {
+                    if (permission.getBitIndex() != null) {
+                        permissionBits.set(permission.getBitIndex());
+                    } else {
+                        scopeJoiner.add(permission.getName());
+                    }
+                }
+            }
+        }
+
+        claims.claim("scope", scopeJoiner.toString())
+                .claim(CompactPermissionClaim.PERMISSIONS_CLAIM, CompactPermissionClaim.encode(permissionBits))
+                // A bit assigned on another instance may be ahead of our registry; decoders reload up to pv
+                .claim(CompactPermissionClaim.VERSION_CLAIM, Math.max(permissionIndexRegistry.version(), permissionBits.length()));
+    }
+
+    public String buildScope(User user){
+        return buildScope(user, roleScopeCache.generation());
+    }
+
+    String buildScope(User user, long scopeGeneration){
+        if (CollectionUtils.isEmpty(user.getRoles())) {
             return "";
         }
+
+        StringJoiner scopeJoiner = new StringJoiner(" ");
+        user.getRoles().forEach(role -> scopeJoiner.add(roleScopeCache.fragment(role, scopeGeneration)));
+        return scopeJoiner.toString();
     }
 }
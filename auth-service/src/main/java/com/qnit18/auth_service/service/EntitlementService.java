@@ -0,0 +1,112 @@
+package com.qnit18.auth_service.service;
+
+import com.qnit18.auth_service.dto.request.RolePermissionAssignmentRequest;
+import com.qnit18.auth_service.dto.request.UserRoleAssignmentRequest;
+import com.qnit18.auth_service.dto.response.BulkAssignmentResponse;
+import com.qnit18.auth_service.entity.Role;
+import com.qnit18.auth_service.exception.AppException;
+import com.qnit18.auth_service.exception.ErrorCode;
+import com.qnit18.auth_service.repository.EntitlementRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.Set;
+
+/**
+ * Bulk role grants for filtered users and permission grants for roles, written with one SQL
+ * statement each. Tokens already issued keep their scope until they expire or are refreshed.
+ * <p>
+ * The statements bypass Hibernate, so the cached {@code Role.permissions} collections and
+ * {@link RoleScopeCache} fragments of the affected roles are evicted once the change commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EntitlementService {
+    private static final String ROLE_PERMISSIONS_COLLECTION = Role.class.getName() + ".permissions";
+
+    EntitlementRepository entitlementRepository;
+    RoleScopeCache roleScopeCache;
+    EntityManagerFactory entityManagerFactory;
+
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkAssignmentResponse grantUserRoles(UserRoleAssignmentRequest request) {
+        validate(request);
+        int affected = entitlementRepository.grantUserRoles(request);
+        log.info("Granted roles {} in {} user assignments", request.getRoles(), affected);
+        return new BulkAssignmentResponse(affected);
+    }
+
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkAssignmentResponse revokeUserRoles(UserRoleAssignmentRequest request) {
+        validate(request);
+        int affected = entitlementRepository.revokeUserRoles(request);
+        log.info("Revoked roles {} in {} user assignments", request.getRoles(), affected);
+        return new BulkAssignmentResponse(affected);
+    }
+
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkAssignmentResponse grantRolePermissions(RolePermissionAssignmentRequest request) {
+        validate(request);
+        int affected = entitlementRepository.grantRolePermissions(request.getRoles(), request.getPermissions());
+        evictAfterCommit(request.getRoles());
+        return new BulkAssignmentResponse(affected);
+    }
+
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkAssignmentResponse revokeRolePermissions(RolePermissionAssignmentRequest request) {
+        validate(request);
+        int affected = entitlementRepository.revokeRolePermissions(request.getRoles(), request.getPermissions());
+        evictAfterCommit(request.getRoles());
+        return new BulkAssignmentResponse(affected);
+    }
+
+    // Evicting before commit would let a concurrent reader cache the old rows again
+    private void evictAfterCommit(Set<String> roles) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                var cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+                for (String role : roles) {
+                    cache.evictCollectionData(ROLE_PERMISSIONS_COLLECTION, role);
+                    roleScopeCache.invalidateRole(role);
+                }
+            }
+        });
+    }
+
+    private static void validate(UserRoleAssignmentRequest request) {
+        if (CollectionUtils.isEmpty(request.getRoles())) {
+            throw new AppException(ErrorCode.INVALID_BULK_ASSIGNMENT);
+        }
+        boolean filtered = !CollectionUtils.isEmpty(request.getUserIds())
+                || !CollectionUtils.isEmpty(request.getUsernames())
+                || StringUtils.hasText(request.getUsernamePrefix())
+                || StringUtils.hasText(request.getWithRole());
+        if (!filtered) {
+            throw new AppException(ErrorCode.INVALID_BULK_ASSIGNMENT);
+        }
+    }
+
+    private static void validate(RolePermissionAssignmentRequest request) {
+        if (CollectionUtils.isEmpty(request.getRoles()) || CollectionUtils.isEmpty(request.getPermissions())) {
+            throw new AppException(ErrorCode.INVALID_BULK_ASSIGNMENT);
+        }
+    }
+}
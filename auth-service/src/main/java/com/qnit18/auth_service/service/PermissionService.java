@@ -5,6 +5,7 @@ import com.qnit18.auth_service.dto.response.PermissionResponse;
 import com.qnit18.auth_service.entity.Permission;
 import com.qnit18.auth_service.mapper.PermissionMapper;
 import com.qnit18.auth_service.repository.PermissionRepository;
+import com.qnit18.auth_service.security.PermissionIndexRegistry;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -20,10 +21,15 @@ import java.util.List;
 public class PermissionService {
     PermissionRepository permissionRepository;
     PermissionMapper permissionMapper;
+    RoleScopeCache roleScopeCache;
+    PermissionIndexRegistry permissionIndexRegistry;
 
     public PermissionResponse createPermissionResponse(PermissionRequest request) {
         Permission permission = permissionMapper.toPermission(request);
+        permission.setBitIndex(Math.toIntExact(permissionRepository.nextBitIndex()));
         permission = permissionRepository.save(permission);
+        roleScopeCache.invalidatePermission(permission.getName());
+        permissionIndexRegistry.reload();
         log.info("Permission created with name: {}", permission.getName());
         return permissionMapper.toPermissionResponse(permission);
     }
@@ -38,6 +44,8 @@ public class PermissionService {
 
     public void deletePermission(String permissionName) {
         permissionRepository.deleteById(permissionName);
+        roleScopeCache.invalidatePermission(permissionName);
+        permissionIndexRegistry.reload();
         log.info("Permission deleted with name: {}", permissionName);
     }
 }
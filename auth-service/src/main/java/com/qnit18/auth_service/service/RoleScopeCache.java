@@ -0,0 +1,93 @@
+package com.qnit18.auth_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qnit18.auth_service.entity.Permission;
+import com.qnit18.auth_service.entity.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.CollectionUtils;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputed {@code "ROLE_X perm1 perm2"} scope fragments per role name.
+ * <p>
+ * Every invalidation bumps a generation counter. Callers read {@link #generation()} before
+ * loading the roles they pass to {@link #fragment}, and fragments computed from data read
+ * before an invalidation are returned but never cached, so a concurrent role or permission
+ * change cannot leave a stale fragment behind.
+ * <p>
+ * That guarantee holds within one instance: invalidations are not broadcast. Other instances
+ * keep a fragment for at most {@code security.scope-cache.ttl}, which matches the expiry of the
+ * {@code Role} second-level cache regions their role data is read through.
+ */
+@Component
+public class RoleScopeCache {
+    private final ConcurrentMap<String, RoleScope> scopes;
+    private final AtomicLong generation = new AtomicLong();
+
+    public RoleScopeCache(@Value("${security.scope-cache.ttl}") Duration ttl) {
+        Cache<String, RoleScope> cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .build();
+        this.scopes = cache.asMap();
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public String fragment(Role role, long observedGeneration) {
+        RoleScope scope = scopes.get(role.getName());
+        if (scope != null) {
+            return scope.fragment();
+        }
+
+        scope = RoleScope.of(role);
+        if (generation.get() == observedGeneration) {
+            scopes.putIfAbsent(role.getName(), scope);
+            if (generation.get() != observedGeneration) {
+                scopes.remove(role.getName(), scope);
+            }
+        }
+        return scope.fragment();
+    }
+
+    public void invalidateRole(String roleName) {
+        generation.incrementAndGet();
+        scopes.remove(roleName);
+    }
+
+    public void invalidatePermission(String permissionName) {
+        generation.incrementAndGet();
+        scopes.values().removeIf(scope -> scope.permissions().contains(permissionName));
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        scopes.clear();
+    }
+
+    private record RoleScope(String fragment, Set<String> permissions) {
+        static RoleScope of(Role role) {
+            StringJoiner fragment = new StringJoiner(" ");
+            fragment.add("ROLE_" + role.getName());
+
+            if (CollectionUtils.isEmpty(role.getPermissions())) {
+                return new RoleScope(fragment.toString(), Set.of());
+            }
+
+            Set<String> permissions = role.getPermissions().stream()
+                    .map(Permission::getName)
+                    .collect(Collectors.toUnmodifiableSet());
+            permissions.forEach(fragment::add);
+            return new RoleScope(fragment.toString(), permissions);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.qnit18.auth_service.service;
 
 import com.qnit18.auth_service.dto.request.RoleRequest;
+import com.qnit18.auth_service.dto.response.PermissionResponse;
 import com.qnit18.auth_service.dto.response.RoleResponse;
 import com.qnit18.auth_service.mapper.RoleMapper;
 import com.qnit18.auth_service.repository.PermissionRepository;
+import com.qnit18.auth_service.repository.RolePermissionRow;
 import com.qnit18.auth_service.repository.RoleRepository;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +14,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -22,25 +27,39 @@ public class RoleService {
     RoleRepository roleRepository;
     PermissionRepository permissionRepository;
     RoleMapper roleMapper;
+    RoleScopeCache roleScopeCache;
 
     public RoleResponse create(RoleRequest request){
         var role = roleMapper.toRole(request);
 
-        var permissions = permissionRepository.findAllById(request.getPermissions());
+        var permissions = permissionRepository.findAllByNameIn(request.getPermissions());
         role.setPermissions(new HashSet<>(permissions));
 
         role = roleRepository.save(role);
+        roleScopeCache.invalidateRole(role.getName());
         return roleMapper.toRoleResponse(role);
     }
 
     public List<RoleResponse> getAll(){
-        return roleRepository.findAll()
-                .stream()
-                .map(roleMapper::toRoleResponse)
-                .toList();
+        Map<String, RoleResponse> roles = new LinkedHashMap<>();
+        for (RolePermissionRow row : roleRepository.findAllRolePermissions()) {
+            RoleResponse role = roles.computeIfAbsent(row.roleName(), name -> RoleResponse.builder()
+                    .name(name)
+                    .description(row.roleDescription())
+                    .permissions(new LinkedHashSet<>())
+                    .build());
+            if (row.permissionName() != null) {
+                role.getPermissions().add(PermissionResponse.builder()
+                        .name(row.permissionName())
+                        .description(row.permissionDescription())
+                        .build());
+            }
+        }
+        return List.copyOf(roles.values());
     }
 
     public void delete(String role){
         roleRepository.deleteById(role);
+        roleScopeCache.invalidateRole(role);
     }
 }
@@ -0,0 +1,116 @@
+package com.qnit18.auth_service.service;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.qnit18.auth_service.dto.request.SigningKeyCreationRequest;
+import com.qnit18.auth_service.dto.request.SigningKeyRetireRequest;
+import com.qnit18.auth_service.dto.response.SigningKeyResponse;
+import com.qnit18.auth_service.entity.SigningKey;
+import com.qnit18.auth_service.exception.AppException;
+import com.qnit18.auth_service.exception.ErrorCode;
+import com.qnit18.auth_service.mapper.SigningKeyMapper;
+import com.qnit18.auth_service.repository.SigningKeyRepository;
+import com.qnit18.auth_service.security.JwsKeys;
+import com.qnit18.auth_service.security.SigningKeyRing;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Schedules signing key rotations. A new key is published before it signs and a retired key keeps
+ * verifying for {@code security.jwt.key-ring.verify-grace}, so rotating never invalidates live tokens.
+ * Deleting a key is the emergency path and rejects its tokens immediately.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class SigningKeyService {
+    private static final Set<JWSAlgorithm> SUPPORTED_ALGORITHMS =
+            Set.of(JWSAlgorithm.HS512, JWSAlgorithm.RS256, JWSAlgorithm.EdDSA);
+
+    SigningKeyRepository signingKeyRepository;
+    SigningKeyMapper signingKeyMapper;
+    SigningKeyRing signingKeyRing;
+
+    @NonFinal
+    @Value("${security.jwt.key-ring.activation-delay}")
+    Duration activationDelay;
+
+    @NonFinal
+    @Value("${security.jwt.key-ring.verify-grace}")
+    Duration verifyGrace;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<SigningKeyResponse> getSigningKeys() {
+        return signingKeyRepository.findAll().stream()
+                .map(signingKeyMapper::toSigningKeyResponse)
+                .toList();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public SigningKeyResponse createSigningKey(SigningKeyCreationRequest request) {
+        JWSAlgorithm algorithm = request.getAlgorithm() == null ? null : JWSAlgorithm.parse(request.getAlgorithm());
+        if (!SUPPORTED_ALGORITHMS.contains(algorithm)) {
+            throw new AppException(ErrorCode.INVALID_SIGNING_KEY_ALGORITHM);
+        }
+
+        Instant now = Instant.now();
+        SigningKey signingKey = SigningKey.builder()
+                .algorithm(algorithm.getName())
+                .createdAt(now)
+                .activateAt(request.getActivateAt() != null ? request.getActivateAt() : now.plus(activationDelay))
+                .build();
+
+        if (JWSAlgorithm.HS512.equals(algorithm)) {
+            signingKey.setId(UUID.randomUUID().toString());
+            signingKey.setPrivateKey(JwsKeys.generateHmacSecret());
+        } else {
+            JwsKeys.PemKeyPair keyPair = JwsKeys.generatePem(algorithm);
+            signingKey.setId(JwsKeys.fromPem(algorithm, null, keyPair.publicKey()).keyId());
+            signingKey.setPrivateKey(keyPair.privateKey());
+            signingKey.setPublicKey(keyPair.publicKey());
+        }
+
+        signingKey = signingKeyRepository.save(signingKey);
+        signingKeyRing.reload();
+        log.info("Signing key {} ({}) added, signing from {}", signingKey.getId(), algorithm, signingKey.getActivateAt());
+        return signingKeyMapper.toSigningKeyResponse(signingKey);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public SigningKeyResponse retireSigningKey(String keyId, SigningKeyRetireRequest request) {
+        SigningKey signingKey = signingKeyRepository.findById(keyId)
+                .orElseThrow(() -> new AppException(ErrorCode.SIGNING_KEY_NOT_FOUND));
+
+        Instant retireAt = request != null && request.getRetireAt() != null ? request.getRetireAt() : Instant.now();
+        signingKey.setRetireAt(retireAt);
+        signingKey.setExpireAt(retireAt.plus(verifyGrace));
+
+        signingKey = signingKeyRepository.save(signingKey);
+        signingKeyRing.reload();
+        log.info("Signing key {} retires at {}, verifies until {}", keyId, retireAt, signingKey.getExpireAt());
+        return signingKeyMapper.toSigningKeyResponse(signingKey);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public void deleteSigningKey(String keyId) {
+        if (!signingKeyRepository.existsById(keyId)) {
+            throw new AppException(ErrorCode.SIGNING_KEY_NOT_FOUND);
+        }
+
+        signingKeyRepository.deleteById(keyId);
+        signingKeyRing.reload();
+        log.warn("Signing key {} deleted, its tokens are no longer accepted", keyId);
+    }
+}
@@ -0,0 +1,347 @@
+package com.qnit18.auth_service.service;
+
+import com.qnit18.auth_service.constant.PredefinedRole;
+import com.qnit18.auth_service.dto.request.UserCreationRequest;
+import com.qnit18.auth_service.dto.response.UserImportResult;
+import com.qnit18.auth_service.entity.User;
+import com.qnit18.auth_service.exception.ErrorCode;
+import com.qnit18.auth_service.repository.RoleRepository;
+import com.qnit18.auth_service.repository.UserBulkRepository;
+import com.qnit18.auth_service.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates users from NDJSON ({@link UserCreationRequest} per line) or CSV with a header row
+ * ({@code username,password,firstName,lastName,dob}), writing one {@link UserImportResult} per row.
+ * <p>
+ * Input is processed in chunks of {@code users.import.batch-size} rows: usernames are checked with a
+ * single query per chunk, passwords are hashed in parallel on a dedicated pool (bypassing the request
+ * hashing queue, which would reject the burst) and the chunk is inserted with JDBC batches in its
+ * own transaction. The unique index on {@code users.username} rejects names taken concurrently by
+ * another import or {@code POST /users}; those rows are reported as {@link ErrorCode#USER_EXISTED}.
+ * Each chunk's results are flushed before the next is read, so progress is visible
+ * and a failure midway leaves every reported row committed.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String MIN_ATTRIBUTE = "min";
+
+    private final UserBulkRepository userBulkRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder hashingEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ExecutorService hashingExecutor;
+    private final Counter createdRows;
+    private final Counter rejectedRows;
+
+    public UserImportService(UserBulkRepository userBulkRepository,
+                             RoleRepository roleRepository,
+                             PasswordEncoder passwordEncoder,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${users.import.batch-size}") int batchSize,
+                             @Value("${users.import.hashing-threads}") int hashingThreads) {
+        this.userBulkRepository = userBulkRepository;
+        this.roleRepository = roleRepository;
+        this.hashingEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate()
+                : passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(
+                hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.createdRows = Counter.builder("auth.users.import.rows")
+                .tag("status", "created")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("auth.users.import.rows")
+                .tag("status", "rejected")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importUsers(InputStream inputStream, boolean csv, OutputStream outputStream) {
+        String roleName = roleRepository.existsById(PredefinedRole.ROLE_USER) ? PredefinedRole.ROLE_USER : null;
+        // Usernames repeated within the file are rejected after their first occurrence
+        Set<String> seenUsernames = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String[] header = null;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = splitCsv(line);
+                    continue;
+                }
+
+                Row row = parse(lineNumber, line, header);
+                if (row.error == null && !seenUsernames.add(row.request.getUsername())) {
+                    row.reject(ErrorCode.USER_EXISTED, ErrorCode.USER_EXISTED.getMessage());
+                }
+                chunk.add(row);
+
+                if (chunk.size() == batchSize) {
+                    process(chunk, roleName, outputStream);
+                    chunk.clear();
+                }
+            }
+            process(chunk, roleName, outputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void process(List<Row> chunk, String roleName, OutputStream outputStream) throws IOException {
+        List<Row> accepted = chunk.stream().filter(row -> row.error == null).toList();
+
+        Set<String> existing = userBulkRepository.findExistingUsernames(
+                accepted.stream().map(row -> row.request.getUsername()).toList());
+        accepted = accepted.stream()
+                .filter(row -> {
+                    if (existing.contains(row.request.getUsername())) {
+                        row.reject(ErrorCode.USER_EXISTED, ErrorCode.USER_EXISTED.getMessage());
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        List<User> users = hash(accepted);
+        try {
+            transactionTemplate.executeWithoutResult(status -> userBulkRepository.insertAll(users, roleName));
+        } catch (DuplicateKeyException e) {
+            // A username was taken concurrently (uk_users_username, V3 migration); retry one by one to find out which
+            for (Row row : accepted) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            userBulkRepository.insertAll(List.of(row.user), roleName));
+                } catch (DuplicateKeyException duplicate) {
+                    row.reject(ErrorCode.USER_EXISTED, ErrorCode.USER_EXISTED.getMessage());
+                }
+            }
+        }
+
+        for (Row row : chunk) {
+            outputStream.write(objectMapper.writeValueAsBytes(row.toResult()));
+            outputStream.write('\n');
+            (row.error == null ? createdRows : rejectedRows).increment();
+        }
+        outputStream.flush();
+    }
+
+    private List<User> hash(List<Row> rows) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String rawPassword = row.request.getPassword();
+            hashes.add(hashingExecutor.submit(() -> hashingEncoder.encode(rawPassword)));
+        }
+
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            row.user = User.builder()
+                    .id(UUID.randomUUID().toString())
+                    .username(row.request.getUsername())
+                    .password(await(hashes.get(i)))
+                    .firstName(row.request.getFirstName())
+                    .lastName(row.request.getLastName())
+                    .dob(row.request.getDob())
+                    .build();
+            users.add(row.user);
+        }
+        return users;
+    }
+
+    private Row parse(long lineNumber, String line, String[] header) {
+        Row row = new Row(lineNumber);
+        try {
+            row.request = header != null ? fromCsv(header, splitCsv(line)) : objectMapper.readValue(line, UserCreationRequest.class);
+        } catch (JacksonException | DateTimeException | IllegalArgumentException e) {
+            row.reject(ErrorCode.INVALID_IMPORT_ROW, ErrorCode.INVALID_IMPORT_ROW.getMessage());
+            return row;
+        }
+
+        if (row.request.getUsername() == null || row.request.getPassword() == null) {
+            row.reject(ErrorCode.INVALID_IMPORT_ROW, ErrorCode.INVALID_IMPORT_ROW.getMessage());
+            return row;
+        }
+
+        Set<ConstraintViolation<UserCreationRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<UserCreationRequest> violation = violations.iterator().next();
+            ErrorCode errorCode;
+            try {
+                errorCode = ErrorCode.valueOf(violation.getMessage());
+            } catch (IllegalArgumentException e) {
+                errorCode = ErrorCode.INVALID_KEY;
+            }
+            Object min = violation.getConstraintDescriptor().getAttributes().get(MIN_ATTRIBUTE);
+            row.reject(errorCode, errorCode.getMessage().replace("{" + MIN_ATTRIBUTE + "}", String.valueOf(min)));
+        }
+        return row;
+    }
+
+    private static UserCreationRequest fromCsv(String[] header, String[] values) {
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            fields.put(header[i].trim(), values[i].isEmpty() ? null : values[i]);
+        }
+
+        String dob = fields.get("dob");
+        return UserCreationRequest.builder()
+                .username(fields.get("username"))
+                .password(fields.get("password"))
+                .firstName(fields.get("firstName"))
+                .lastName(fields.get("lastName"))
+                .dob(dob == null ? null : LocalDate.parse(dob))
+                .build();
+    }
+
+    /**
+     * Splits one CSV record; fields may be double-quoted, with {@code ""} for a literal quote.
+     */
+    private static String[] splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields.toArray(String[]::new);
+    }
+
+    private static String await(Future<String> hash) {
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class Row {
+        final long line;
+        UserCreationRequest request;
+        User user;
+        ErrorCode error;
+        String message;
+
+        Row(long line) {
+            this.line = line;
+        }
+
+        void reject(ErrorCode error, String message) {
+            this.error = error;
+            this.message = message;
+        }
+
+        UserImportResult toResult() {
+            if (error != null) {
+                return UserImportResult.builder()
+                        .line(line)
+                        .username(request == null ? null : request.getUsername())
+                        .status(UserImportResult.Status.REJECTED)
+                        .code(error.getCode())
+                        .message(message)
+                        .build();
+            }
+            return UserImportResult.builder()
+                    .line(line)
+                    .username(user.getUsername())
+                    .status(UserImportResult.Status.CREATED)
+                    .id(user.getId())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.qnit18.auth_service.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timers for {@link UserService}, registered once rather than looked up per call:
+ * {@code auth.users} tagged {@code operation=create|update|delete|list|get|stream}.
+ * Repository calls underneath are timed separately as {@code spring.data.repository.invocations}.
+ */
+@Component
+public class UserMetrics {
+    final Timer create;
+    final Timer update;
+    final Timer delete;
+    final Timer list;
+    final Timer get;
+    final Timer stream;
+
+    public UserMetrics(MeterRegistry meterRegistry) {
+        this.create = operation(meterRegistry, "create");
+        this.update = operation(meterRegistry, "update");
+        this.delete = operation(meterRegistry, "delete");
+        this.list = operation(meterRegistry, "list");
+        this.get = operation(meterRegistry, "get");
+        this.stream = operation(meterRegistry, "stream");
+    }
+
+    private static Timer operation(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("auth.users")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
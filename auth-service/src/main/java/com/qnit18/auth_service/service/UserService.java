@@ -3,6 +3,7 @@ package com.qnit18.auth_service.service;
 import com.qnit18.auth_service.constant.PredefinedRole;
 import com.qnit18.auth_service.dto.request.UserCreationRequest;
 import com.qnit18.auth_service.dto.request.UserUpdateRequest;
+import com.qnit18.auth_service.dto.response.CursorPageResponse;
 import com.qnit18.auth_service.dto.response.UserResponse;
 import com.qnit18.auth_service.entity.Role;
 import com.qnit18.auth_service.entity.User;
@@ -11,13 +12,26 @@ import com.qnit18.auth_service.exception.ErrorCode;
 import com.qnit18.auth_service.mapper.UserMapper;
 import com.qnit18.auth_service.repository.RoleRepository;
 import com.qnit18.auth_service.repository.UserRepository;
+import com.qnit18.auth_service.repository.UserSummaryRepository;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.HashSet;
 import java.util.List;
 
@@ -29,42 +43,129 @@ public class UserService {
     UserMapper userMapper;
     PasswordEncoder passwordEncoder;
     RoleRepository roleRepository;
+    UserSummaryRepository userSummaryRepository;
+    ObjectMapper objectMapper;
+    UserMetrics userMetrics;
+
+    @NonFinal
+    @Value("${users.page.default-size}")
+    int defaultPageSize;
+
+    @NonFinal
+    @Value("${users.page.max-size}")
+    int maxPageSize;
+
+    @NonFinal
+    @Value("${users.stream.fetch-size}")
+    int streamFetchSize;
 
     public UserResponse createUser(UserCreationRequest request){
-        if (userRepository.existsByUsername(request.getUsername()))
-            throw new AppException(ErrorCode.USER_EXISTED);
-
-        User user = userMapper.toUser(request);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        HashSet<Role> roles = new HashSet<>();
-        roleRepository.findById(PredefinedRole.ROLE_USER).ifPresent(roles::add);
-        user.setRoles(roles);
-        return userMapper.toUserResponse(userRepository.save(user));
+        return userMetrics.create.record(() -> {
+            if (userRepository.existsByUsername(request.getUsername()))
+                throw new AppException(ErrorCode.USER_EXISTED);
+
+            User user = userMapper.toUser(request);
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            HashSet<Role> roles = new HashSet<>();
+            roleRepository.findById(PredefinedRole.ROLE_USER).ifPresent(roles::add);
+            user.setRoles(roles);
+            try {
+                return userMapper.toUserResponse(userRepository.save(user));
+            } catch (DataIntegrityViolationException e) {
+                // Taken since the check above, by a concurrent request or a bulk import
+                throw new AppException(ErrorCode.USER_EXISTED);
+            }
+        });
     }
 
+    @Transactional
     public UserResponse updateUser(String userId, UserUpdateRequest request) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
-        userMapper.updateUser(user, request);
-        return userMapper.toUserResponse(userRepository.save(user));
+        return userMetrics.update.record(() -> {
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND));
+            userMapper.updateUser(user, request);
+            if (request.getPassword() != null) {
+                user.setPassword(passwordEncoder.encode(request.getPassword()));
+            }
+            if (request.getRoles() != null) {
+                // Any authenticated user may update a profile, but only admins may change roles
+                if (!isAdmin())
+                    throw new AppException(ErrorCode.UNAUTHORIZED);
+                user.setRoles(new HashSet<>(roleRepository.findAllById(request.getRoles())));
+            }
+            return userMapper.toUserResponse(userRepository.save(user));
+        });
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteUser(String userId){
-        userRepository.deleteById(userId);
-    }
-
-    @PreAuthorize("hasAuthority('APPROVE_DATA')")
-    public List<UserResponse> getUsers(){
-        return userRepository.findAll().stream()
-                .map(userMapper::toUserResponse).toList();
+        userMetrics.delete.record(() -> userRepository.deleteById(userId));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     public UserResponse getUser(String id){
-        return userMapper.toUserResponse(userRepository.findById(id)
+        return userMetrics.get.record(() -> userSummaryRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_FOUND)));
     }
-}
 
+    @PreAuthorize("hasAuthority('APPROVE_DATA')")
+    public CursorPageResponse<UserResponse> getUsers(String cursor, Integer size){
+        return userMetrics.list.record(() -> readPage(cursor, size));
+    }
+
+    private CursorPageResponse<UserResponse> readPage(String cursor, Integer size){
+        int limit = size == null ? defaultPageSize : Math.clamp(size, 1, maxPageSize);
+
+        // Read one extra row to know whether another page exists
+        List<UserResponse> users = userSummaryRepository.findPage(decodeCursor(cursor), limit + 1);
+        if (users.size() <= limit) {
+            return CursorPageResponse.<UserResponse>builder()
+                    .items(users)
+                    .build();
+        }
+
+        users = users.subList(0, limit);
+        return CursorPageResponse.<UserResponse>builder()
+                .items(users)
+                .nextCursor(encodeCursor(users.getLast().getId()))
+                .build();
+    }
+
+    /**
+     * Writes every user as one JSON line while rows are still being read from the cursor.
+     */
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAuthority('APPROVE_DATA')")
+    public void streamUsers(OutputStream outputStream){
+        userMetrics.stream.record(() -> userSummaryRepository.streamAll(streamFetchSize, user -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(user));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ("ROLE_" + PredefinedRole.ROLE_ADMIN).equals(authority.getAuthority()));
+    }
+
+    private static String encodeCursor(String userId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(userId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+}
 
@@ -0,0 +1,41 @@
+-- Schema as generated by ddl-auto=update before migrations were introduced: users, roles,
+-- permissions and their join tables only. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) without running it and start from V2.
+
+create table permissions (
+    name        varchar(255) not null,
+    description varchar(255),
+    constraint pk_permissions primary key (name)
+);
+
+create table roles (
+    name        varchar(255) not null,
+    description varchar(255),
+    constraint pk_roles primary key (name)
+);
+
+create table roles_permissions (
+    roles_name       varchar(255) not null,
+    permissions_name varchar(255) not null,
+    constraint pk_roles_permissions primary key (roles_name, permissions_name),
+    constraint fk_roles_permissions_roles foreign key (roles_name) references roles (name),
+    constraint fk_roles_permissions_permissions foreign key (permissions_name) references permissions (name)
+);
+
+create table users (
+    id         varchar(255) not null,
+    username   varchar(255),
+    password   varchar(255),
+    first_name varchar(255),
+    last_name  varchar(255),
+    dob        date,
+    constraint pk_users primary key (id)
+);
+
+create table users_roles (
+    users_id   varchar(255) not null,
+    roles_name varchar(255) not null,
+    constraint pk_users_roles primary key (users_id, roles_name),
+    constraint fk_users_roles_users foreign key (users_id) references users (id),
+    constraint fk_users_roles_roles foreign key (roles_name) references roles (name)
+);
@@ -0,0 +1,24 @@
+-- Revocation and signing key tables, added after the schema V1 describes. A database upgraded
+-- from a build that created them under ddl-auto=update already has them, hence "if not exists".
+
+create table if not exists invalidated_tokens (
+    id          varchar(255) not null,
+    expiry_time timestamp(6) with time zone,
+    revoked_at  timestamp(6) with time zone,
+    constraint pk_invalidated_tokens primary key (id)
+);
+
+create index if not exists idx_invalidated_tokens_revoked_at on invalidated_tokens (revoked_at);
+create index if not exists idx_invalidated_tokens_expiry_time on invalidated_tokens (expiry_time);
+
+create table if not exists signing_keys (
+    id          varchar(255) not null,
+    algorithm   varchar(255),
+    private_key varchar(4096),
+    public_key  varchar(1024),
+    created_at  timestamp(6) with time zone,
+    activate_at timestamp(6) with time zone,
+    retire_at   timestamp(6) with time zone,
+    expire_at   timestamp(6) with time zone,
+    constraint pk_signing_keys primary key (id)
+);
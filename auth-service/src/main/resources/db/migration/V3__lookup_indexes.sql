@@ -0,0 +1,8 @@
+-- Login looks users up by username. Fails if the table already holds duplicate usernames;
+-- resolve them before upgrading.
+create unique index uk_users_username on users (username);
+
+-- The primary keys lead with users_id and roles_name; these cover the reverse direction
+-- (users holding a role, roles granting a permission) used by deletes and bulk assignments.
+create index idx_users_roles_roles_name on users_roles (roles_name);
+create index idx_roles_permissions_permissions_name on roles_permissions (permissions_name);
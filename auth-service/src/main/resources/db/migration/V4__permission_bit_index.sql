@@ -0,0 +1,14 @@
+-- Stable per-permission positions for the compact "perm" token claim (security.jwt.claim-format=COMPACT).
+-- Indices come from a sequence and are never reused, so a bit in a live token cannot change meaning.
+create sequence permission_bit_index_seq start with 0 minvalue 0;
+
+alter table permissions add column bit_index integer;
+
+update permissions p
+set bit_index = numbered.bit_index
+from (select name, row_number() over (order by name) - 1 as bit_index from permissions) numbered
+where p.name = numbered.name;
+
+select setval('permission_bit_index_seq', (select count(*) from permissions), false);
+
+create unique index uk_permissions_bit_index on permissions (bit_index);
@@ -0,0 +1,120 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.entity.Permission;
+import com.qnit18.auth_service.entity.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs without a surrounding test transaction so every repository call gets its own
+ * persistence context and anything not in SQL has to come from the second-level cache.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoleRepositoryTest {
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    PermissionRepository permissionRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    Statistics statistics;
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void repeatedRoleLookupIsServedFromSecondLevelCache() {
+        saveRole("CACHED_ROLE", "CACHED_READ", "CACHED_WRITE");
+        loadPermissionNames("CACHED_ROLE");
+        statistics.clear();
+
+        Set<String> permissions = loadPermissionNames("CACHED_ROLE");
+
+        assertThat(permissions).containsExactlyInAnyOrder("CACHED_READ", "CACHED_WRITE");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void repeatedPermissionLookupByNamesIsServedFromCache() {
+        saveRole("QUERY_ROLE", "QUERY_READ", "QUERY_WRITE");
+        List<String> names = List.of("QUERY_READ", "QUERY_WRITE");
+        permissionRepository.findAllByNameIn(names);
+        statistics.clear();
+
+        List<Permission> permissions = permissionRepository.findAllByNameIn(names);
+
+        assertThat(permissions).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rolePermissionProjectionReadsFlatRowsInOneStatement() {
+        saveRole("PROJECTED_ROLE", "PROJECTED_READ", "PROJECTED_WRITE");
+        saveRole("EMPTY_ROLE");
+        statistics.clear();
+
+        List<RolePermissionRow> rows = roleRepository.findAllRolePermissions();
+
+        assertThat(rows)
+                .filteredOn(row -> row.roleName().equals("PROJECTED_ROLE"))
+                .extracting(RolePermissionRow::permissionName)
+                .containsExactly("PROJECTED_READ", "PROJECTED_WRITE");
+        assertThat(rows)
+                .filteredOn(row -> row.roleName().equals("EMPTY_ROLE"))
+                .extracting(RolePermissionRow::permissionName)
+                .containsExactly((String) null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private Set<String> loadPermissionNames(String roleName) {
+        return transactionTemplate.execute(status -> {
+            Role role = roleRepository.findById(roleName).orElseThrow();
+            Set<String> names = new HashSet<>();
+            role.getPermissions().forEach(permission -> names.add(permission.getName()));
+            return names;
+        });
+    }
+
+    private void saveRole(String roleName, String... permissionNames) {
+        Set<Permission> permissions = new HashSet<>();
+        for (String permissionName : permissionNames) {
+            permissions.add(permissionRepository.save(Permission.builder().name(permissionName).build()));
+        }
+        roleRepository.save(Role.builder()
+                .name(roleName)
+                .permissions(permissions)
+                .build());
+    }
+}
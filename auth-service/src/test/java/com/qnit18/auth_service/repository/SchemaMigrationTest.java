@@ -0,0 +1,88 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.entity.SigningKey;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations on PostgreSQL and starts Hibernate with {@code ddl-auto=validate},
+ * so a migration that drifts from the entity mappings fails here rather than at deployment.
+ * The H2 {@code test} profile builds its schema from the mappings and cannot catch that.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class SchemaMigrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PermissionRepository permissionRepository;
+
+    @Autowired
+    InvalidatedTokenRepository invalidatedTokenRepository;
+
+    @Autowired
+    SigningKeyRepository signingKeyRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void appliesEveryMigration() {
+        Integer applied = jdbcTemplate.queryForObject(
+                "select count(*) from flyway_schema_history where success and version is not null", Integer.class);
+
+        assertThat(applied).isEqualTo(4);
+    }
+
+    @Test
+    void bitIndexVersionCountsEveryIndexHandedOut() {
+        long version = permissionRepository.bitIndexVersion();
+
+        assertThat(permissionRepository.nextBitIndex()).isEqualTo(version);
+        assertThat(permissionRepository.bitIndexVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void revocationIsInsertOnly() {
+        Instant expiry = Instant.now().plusSeconds(60);
+
+        assertThat(invalidatedTokenRepository.insertIfAbsent("jti", expiry, Instant.now())).isEqualTo(1);
+        assertThat(invalidatedTokenRepository.insertIfAbsent("jti", expiry, Instant.now())).isZero();
+    }
+
+    @Test
+    void signingKeySecretIsEncryptedAtRest() {
+        signingKeyRepository.saveAndFlush(SigningKey.builder()
+                .id("key")
+                .algorithm("HS512")
+                .privateKey("secret")
+                .activateAt(Instant.now())
+                .build());
+        entityManager.clear();
+
+        String stored = jdbcTemplate.queryForObject("select private_key from signing_keys where id = 'key'", String.class);
+
+        assertThat(stored).startsWith("v1:").doesNotContain("secret");
+        assertThat(signingKeyRepository.findById("key").orElseThrow().getPrivateKey()).isEqualTo("secret");
+    }
+}
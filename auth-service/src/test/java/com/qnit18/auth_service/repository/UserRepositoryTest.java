@@ -0,0 +1,95 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.entity.Permission;
+import com.qnit18.auth_service.entity.Role;
+import com.qnit18.auth_service.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserRepositoryTest {
+    private static final int PERMISSIONS_PER_ROLE = 3;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    RoleRepository roleRepository;
+
+    @Autowired
+    PermissionRepository permissionRepository;
+
+    @Autowired
+    EntityManager entityManager;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    void findWithRolesAndPermissionsByUsernameLoadsWholeGraphInOneQuery(int roleCount) {
+        saveUserWithRoles("user" + roleCount, roleCount);
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        User user = userRepository.findWithRolesAndPermissionsByUsername("user" + roleCount).orElseThrow();
+        int permissionCount = user.getRoles().stream()
+                .mapToInt(role -> role.getPermissions().size())
+                .sum();
+
+        assertThat(user.getRoles()).hasSize(roleCount);
+        assertThat(permissionCount).isEqualTo(roleCount * PERMISSIONS_PER_ROLE);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateUsernameIsRejectedByTheDatabase() {
+        userRepository.saveAndFlush(User.builder().username("duplicate").password("password").build());
+
+        assertThatThrownBy(() -> userRepository.saveAndFlush(User.builder().username("duplicate").password("password").build()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private void saveUserWithRoles(String username, int roleCount) {
+        Set<Role> roles = new HashSet<>();
+        for (int r = 0; r < roleCount; r++) {
+            Set<Permission> permissions = new HashSet<>();
+            for (int p = 0; p < PERMISSIONS_PER_ROLE; p++) {
+                permissions.add(permissionRepository.save(Permission.builder()
+                        .name(username + "_PERMISSION_" + r + "_" + p)
+                        .build()));
+            }
+            roles.add(roleRepository.save(Role.builder()
+                    .name(username + "_ROLE_" + r)
+                    .permissions(permissions)
+                    .build()));
+        }
+
+        userRepository.save(User.builder()
+                .username(username)
+                .password("password")
+                .roles(roles)
+                .build());
+    }
+}
@@ -0,0 +1,81 @@
+package com.qnit18.auth_service.repository;
+
+import com.qnit18.auth_service.dto.response.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The {@code string_agg} reads run on PostgreSQL, the database they are written for.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserSummaryRepository.class)
+@Testcontainers(disabledWithoutDocker = true)
+class UserSummaryRepositoryTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into roles (name) values ('ADMIN'), ('USER')");
+        // Ids sharing prefixes and differing only in case or punctuation, where collation order matters
+        for (String id : List.of("user-a", "user-A", "user_a", "usera", "user-a-1", "user-b")) {
+            jdbcTemplate.update("insert into users (id, username) values (?, ?)", id, "name-" + id);
+        }
+        jdbcTemplate.update("insert into users_roles (users_id, roles_name) values ('user-a', 'ADMIN'), ('user-a', 'USER')");
+        jdbcTemplate.update("insert into users_roles (users_id, roles_name) values ('user-b', 'USER')");
+    }
+
+    @Test
+    void flattensRolesToNames() {
+        UserResponse user = userSummaryRepository.findById("user-a").orElseThrow();
+
+        assertThat(user.getUsername()).isEqualTo("name-user-a");
+        assertThat(user.getRoles()).containsExactlyInAnyOrder("ADMIN", "USER");
+    }
+
+    @Test
+    void userWithoutRolesHasAnEmptySet() {
+        assertThat(userSummaryRepository.findById("usera").orElseThrow().getRoles()).isEmpty();
+        assertThat(userSummaryRepository.findPage(null, 10))
+                .filteredOn(user -> !user.getId().equals("user-a") && !user.getId().equals("user-b"))
+                .allSatisfy(user -> assertThat(user.getRoles()).isEmpty());
+    }
+
+    @Test
+    void cursorPagesVisitEveryUserOnceInListingOrder() {
+        List<String> listed = userSummaryRepository.findPage(null, 100).stream().map(UserResponse::getId).toList();
+
+        List<String> paged = new ArrayList<>();
+        List<UserResponse> page = userSummaryRepository.findPage(null, 1);
+        while (!page.isEmpty()) {
+            paged.add(page.getFirst().getId());
+            page = userSummaryRepository.findPage(page.getFirst().getId(), 1);
+        }
+
+        assertThat(paged).doesNotHaveDuplicates().isEqualTo(listed).hasSize(6);
+    }
+}
@@ -0,0 +1,33 @@
+package com.qnit18.auth_service.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactPermissionClaimTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 8, 63, 64, 199})
+    void roundTripsBitsUpToTheHighestIndex(int highestIndex) {
+        BitSet bits = new BitSet();
+        for (int index = 0; index <= highestIndex; index += 3) {
+            bits.set(index);
+        }
+        bits.set(highestIndex);
+
+        String claim = CompactPermissionClaim.encode(bits);
+
+        assertThat(claim).doesNotContain("=", "+", "/");
+        assertThat(CompactPermissionClaim.decode(claim)).isEqualTo(bits);
+    }
+
+    @Test
+    void encodesNoPermissionsAsAnEmptyClaim() {
+        assertThat(CompactPermissionClaim.encode(new BitSet(200))).isEmpty();
+        assertThat(CompactPermissionClaim.decode("")).isEqualTo(new BitSet());
+    }
+}
@@ -0,0 +1,139 @@
+package com.qnit18.auth_service.security;
+
+import com.qnit18.auth_service.repository.PermissionBitRow;
+import com.qnit18.auth_service.repository.PermissionRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Only the {@code permissions} table and its bit index sequence are stubbed.
+ */
+class PermissionIndexRegistryTest {
+    final PermissionRepository permissionRepository = mock(PermissionRepository.class);
+    final List<PermissionBitRow> rows = new ArrayList<>(List.of(
+            new PermissionBitRow("READ_DATA", 0),
+            new PermissionBitRow("APPROVE_DATA", 1),
+            new PermissionBitRow("DELETE_DATA", 2)));
+
+    @Test
+    void expandsSetBitsAndSkipsDeletedPermissions() {
+        givenSequenceVersions(3);
+        PermissionIndexRegistry registry = loadedRegistry(Duration.ofHours(1));
+
+        rows.remove(1);
+        registry.reload();
+
+        assertThat(registry.names(bits(0, 1, 2), 3)).containsExactly("READ_DATA", "DELETE_DATA");
+    }
+
+    @Test
+    void versionDoesNotDropWhenTheHighestPermissionIsDeleted() {
+        givenSequenceVersions(3);
+        PermissionIndexRegistry registry = loadedRegistry(Duration.ofHours(1));
+        long generation = registry.generation();
+
+        rows.remove(2);
+        registry.reload();
+
+        assertThat(registry.version()).isEqualTo(3);
+        assertThat(registry.generation()).isGreaterThan(generation);
+    }
+
+    @Test
+    void unchangedReloadKeepsTheGeneration() {
+        givenSequenceVersions(3);
+        PermissionIndexRegistry registry = loadedRegistry(Duration.ofHours(1));
+        long generation = registry.generation();
+
+        registry.reload();
+
+        assertThat(registry.generation()).isEqualTo(generation);
+    }
+
+    @Test
+    void tokenFromANewerRegistryReloadsOnceTheIntervalHasPassed() {
+        givenSequenceVersions(3, 4);
+        PermissionIndexRegistry registry = loadedRegistry(Duration.ZERO);
+        rows.add(new PermissionBitRow("EXPORT_DATA", 3));
+
+        assertThat(registry.names(bits(3), 4)).containsExactly("EXPORT_DATA");
+        assertThat(registry.names(bits(3), 4)).containsExactly("EXPORT_DATA");
+
+        assertThat(registry.version()).isEqualTo(4);
+        verify(permissionRepository, times(2)).findAllBitIndices();
+    }
+
+    @Test
+    void tokenFromANewerRegistryWaitsForTheMinimumInterval() {
+        givenSequenceVersions(3, 4);
+        PermissionIndexRegistry registry = loadedRegistry(Duration.ofHours(1));
+        rows.add(new PermissionBitRow("EXPORT_DATA", 3));
+
+        assertThat(registry.names(bits(3), 4)).isEmpty();
+
+        assertThat(registry.version()).isEqualTo(3);
+        verify(permissionRepository, times(1)).findAllBitIndices();
+    }
+
+    @Test
+    void concurrentTokensFromANewerRegistryShareOneReload() throws Exception {
+        givenSequenceVersions(3, 4);
+        PermissionIndexRegistry registry = loadedRegistry(Duration.ZERO);
+        rows.add(new PermissionBitRow("EXPORT_DATA", 3));
+
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return registry.names(bits(3), 4);
+                }));
+            }
+            start.countDown();
+            for (Future<List<String>> result : results) {
+                assertThat(result.get()).containsExactly("EXPORT_DATA");
+            }
+        }
+
+        verify(permissionRepository, times(2)).findAllBitIndices();
+    }
+
+    private void givenSequenceVersions(long first, long... next) {
+        Long[] boxed = new Long[next.length];
+        for (int i = 0; i < next.length; i++) {
+            boxed[i] = next[i];
+        }
+        when(permissionRepository.bitIndexVersion()).thenReturn(first, boxed);
+        when(permissionRepository.findAllBitIndices()).thenAnswer(invocation -> List.copyOf(rows));
+    }
+
+    private PermissionIndexRegistry loadedRegistry(Duration minReloadInterval) {
+        PermissionIndexRegistry registry = new PermissionIndexRegistry(permissionRepository, minReloadInterval);
+        registry.load();
+        return registry;
+    }
+
+    private static BitSet bits(int... indices) {
+        BitSet bits = new BitSet();
+        for (int index : indices) {
+            bits.set(index);
+        }
+        return bits;
+    }
+}
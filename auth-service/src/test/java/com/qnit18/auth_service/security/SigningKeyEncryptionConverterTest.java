@@ -0,0 +1,42 @@
+package com.qnit18.auth_service.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SigningKeyEncryptionConverterTest {
+    final SigningKeyEncryptionConverter converter = new SigningKeyEncryptionConverter(randomKey());
+
+    @Test
+    void roundTripsWithoutStoringThePlaintext() {
+        String secret = JwsKeys.generateHmacSecret();
+
+        String stored = converter.convertToDatabaseColumn(secret);
+
+        assertThat(stored).startsWith("v1:").doesNotContain(secret);
+        assertThat(converter.convertToDatabaseColumn(secret)).isNotEqualTo(stored);
+        assertThat(converter.convertToEntityAttribute(stored)).isEqualTo(secret);
+    }
+
+    @Test
+    void readsRowsWrittenBeforeEncryptionAsPlaintext() {
+        assertThat(converter.convertToEntityAttribute("legacy-secret")).isEqualTo("legacy-secret");
+    }
+
+    @Test
+    void rejectsValuesEncryptedWithAnotherKey() {
+        String stored = new SigningKeyEncryptionConverter(randomKey()).convertToDatabaseColumn("secret");
+
+        assertThatThrownBy(() -> converter.convertToEntityAttribute(stored)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static String randomKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
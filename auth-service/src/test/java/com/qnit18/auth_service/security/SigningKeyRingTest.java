@@ -0,0 +1,128 @@
+package com.qnit18.auth_service.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.qnit18.auth_service.entity.SigningKey;
+import com.qnit18.auth_service.repository.SigningKeyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Key ring rotation against a real {@link JwtTokenEngine}; only the {@code signing_keys} table is stubbed.
+ */
+class SigningKeyRingTest {
+    private static final Base64.Encoder BASE64URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    final List<SigningKey> rows = new ArrayList<>();
+    final JwsKey configuredKey = JwsKeys.hmac(null, JwsKeys.generateHmacSecret());
+
+    JwtTokenEngine tokenEngine;
+    VerifiedTokenCache verifiedTokenCache;
+    SigningKeyRing signingKeyRing;
+
+    @BeforeEach
+    void setUp() {
+        SigningKeyRepository signingKeyRepository = mock(SigningKeyRepository.class);
+        when(signingKeyRepository.findByExpireAtIsNullOrExpireAtAfter(any())).thenAnswer(invocation -> List.copyOf(rows));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        tokenEngine = new JwtTokenEngine(configuredKey, meterRegistry);
+        verifiedTokenCache = new VerifiedTokenCache(tokenEngine, meterRegistry, 100, Duration.ofMinutes(1));
+        signingKeyRing = new SigningKeyRing(signingKeyRepository, tokenEngine, verifiedTokenCache, configuredKey);
+    }
+
+    @Test
+    void retiredKeyStillVerifies() {
+        SigningKey first = row(Instant.now().minus(Duration.ofHours(2)));
+        rows.add(first);
+        signingKeyRing.reload();
+        String token = tokenEngine.sign(claims());
+        assertThat(tokenEngine.signingKeyId()).isEqualTo(first.getId());
+
+        first.setRetireAt(Instant.now().minus(Duration.ofMinutes(1)));
+        SigningKey second = row(Instant.now().minus(Duration.ofHours(1)));
+        rows.add(second);
+        signingKeyRing.reload();
+
+        assertThat(tokenEngine.signingKeyId()).isEqualTo(second.getId());
+        assertThat(tokenEngine.decode(token).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void deletedKeyStopsVerifying() {
+        SigningKey key = row(Instant.now().minus(Duration.ofHours(1)));
+        rows.add(key);
+        signingKeyRing.reload();
+        String token = tokenEngine.sign(claims());
+        assertThat(verifiedTokenCache.decode(token).getSubject()).isEqualTo("alice");
+
+        rows.remove(key);
+        signingKeyRing.reload();
+
+        assertThatThrownBy(() -> tokenEngine.decode(token)).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> verifiedTokenCache.decode(token)).isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void configuredKeySignsWhenNoRingKeyIsActive() {
+        SigningKey pending = row(Instant.now().plus(Duration.ofHours(1)));
+        rows.add(pending);
+        signingKeyRing.reload();
+
+        assertThat(tokenEngine.signingKeyId()).isEqualTo(configuredKey.keyId());
+        String token = tokenEngine.sign(claims());
+        assertThat(tokenEngine.decode(token).getSubject()).isEqualTo("alice");
+        assertThat(tokenEngine.publishedKeys().json()).contains(pending.getId());
+    }
+
+    @Test
+    void headerInAnotherMemberOrderIsResolvedByKeyId() {
+        SigningKey row = row(Instant.now().minus(Duration.ofHours(1)));
+        rows.add(row);
+        signingKeyRing.reload();
+
+        // Same header as the engine writes, but kid first, so the precomputed segment does not match
+        JwsKey key = JwsKeys.fromPem(JWSAlgorithm.EdDSA, row.getPrivateKey(), row.getPublicKey());
+        String signingInput = encode("{\"kid\":\"" + row.getId() + "\",\"alg\":\"EdDSA\"}") + "." + encode("{\"sub\":\"alice\"}");
+        byte[] input = signingInput.getBytes(StandardCharsets.US_ASCII);
+        String token = signingInput + "." + BASE64URL_ENCODER.encodeToString(key.sign(input, input.length));
+
+        assertThat(tokenEngine.decode(token).getSubject()).isEqualTo("alice");
+    }
+
+    private static SigningKey row(Instant activateAt) {
+        JwsKeys.PemKeyPair pem = JwsKeys.generatePem(JWSAlgorithm.EdDSA);
+        String keyId = JwsKeys.fromPem(JWSAlgorithm.EdDSA, pem.privateKey(), pem.publicKey()).keyId();
+        return SigningKey.builder()
+                .id(keyId)
+                .algorithm(JWSAlgorithm.EdDSA.getName())
+                .privateKey(pem.privateKey())
+                .publicKey(pem.publicKey())
+                .createdAt(activateAt)
+                .activateAt(activateAt)
+                .build();
+    }
+
+    private static JWTClaimsSet claims() {
+        return new JWTClaimsSet.Builder().subject("alice").build();
+    }
+
+    private static String encode(String json) {
+        return BASE64URL_ENCODER.encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}